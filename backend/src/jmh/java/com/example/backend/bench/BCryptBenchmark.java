@@ -0,0 +1,42 @@
+package com.example.backend.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BCryptBenchmark {
+
+  // 10 = coste por defecto de BCryptPasswordEncoder en SecurityConfig
+  @Param({ "10" })
+  int cost;
+
+  BCryptPasswordEncoder encoder;
+  String hash;
+
+  @Setup
+  public void setup() {
+    encoder = new BCryptPasswordEncoder(cost);
+    hash = encoder.encode("admin123");
+  }
+
+  @Benchmark
+  public boolean matches() {
+    return encoder.matches("admin123", hash);
+  }
+}
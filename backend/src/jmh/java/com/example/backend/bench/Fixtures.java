@@ -0,0 +1,74 @@
+package com.example.backend.bench;
+
+import com.example.backend.dto.ReportDTO;
+import com.example.backend.entity.Role;
+import com.example.backend.models.Department;
+import com.example.backend.models.Employee;
+import com.example.backend.models.PerformanceReport;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Datos compartidos por los benchmarks
+final class Fixtures {
+
+  static final String SECRET =
+    "change_me_super_secret_min_256_bits________________________________";
+  static final long EXPIRATION_MS = 86400000L;
+
+  private Fixtures() {}
+
+  static Department department() {
+    return Department.builder()
+      .id(7L)
+      .name("Ingeniería")
+      .description("Plataforma")
+      .createdAt(Instant.parse("2024-01-01T00:00:00Z"))
+      .build();
+  }
+
+  static Employee employee() {
+    return Employee.builder()
+      .id(42L)
+      .fullName("Ada Lovelace")
+      .email("ada@kconnect.io")
+      .password("$2a$10$abcdefghijklmnopqrstuv")
+      .role(Role.EMPLOYEE)
+      .hireDate(LocalDate.of(2023, 5, 1))
+      .department(department())
+      .build();
+  }
+
+  static PerformanceReport report(long id) {
+    return PerformanceReport.builder()
+      .id(id)
+      .title("Reporte trimestral " + id)
+      .description("Cumplió los objetivos del trimestre y mejoró la cobertura de pruebas.")
+      .score((int) (id % 100) + 1)
+      .createdAt(Instant.parse("2024-06-01T10:15:30Z").plusSeconds(id))
+      .employee(employee())
+      .department(department())
+      .build();
+  }
+
+  static List<ReportDTO> reports(int n) {
+    List<ReportDTO> out = new ArrayList<>(n);
+    for (long i = 1; i <= n; i++) {
+      out.add(
+        new ReportDTO(
+          i,
+          "Reporte trimestral " + i,
+          "Cumplió los objetivos del trimestre y mejoró la cobertura de pruebas.",
+          (int) (i % 100) + 1,
+          42L,
+          7L,
+          Instant.parse("2024-06-01T10:15:30Z").plusSeconds(i),
+          "Ada Lovelace",
+          "Ingeniería"
+        )
+      );
+    }
+    return out;
+  }
+}
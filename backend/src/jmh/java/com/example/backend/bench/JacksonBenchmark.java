@@ -0,0 +1,43 @@
+package com.example.backend.bench;
+
+import com.example.backend.dto.ReportDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JacksonBenchmark {
+
+  @Param({ "1000", "10000", "100000" })
+  int size;
+
+  ObjectMapper mapper;
+  List<ReportDTO> reports;
+
+  @Setup
+  public void setup() {
+    mapper = new ObjectMapper();
+    reports = Fixtures.reports(size);
+  }
+
+  @Benchmark
+  public byte[] serializeReports() throws Exception {
+    return mapper.writeValueAsBytes(reports);
+  }
+}
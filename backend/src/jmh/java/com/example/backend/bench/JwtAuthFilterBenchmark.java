@@ -0,0 +1,90 @@
+package com.example.backend.bench;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.example.backend.entity.Role;
+import com.example.backend.repository.EmployeeRepository;
+import com.example.backend.security.CustomUserDetailsService;
+import com.example.backend.security.JwtAuthFilter;
+import com.example.backend.security.JwtService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import com.example.backend.security.TokenRevocationRegistry;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthFilterBenchmark {
+
+  // false = ruta clásica con loadUserByUsername (mock, sin latencia de BD)
+  @Param({ "false", "true" })
+  boolean stateless;
+
+  JwtAuthFilter filter;
+  String header;
+
+  @Setup
+  public void setup() {
+    var employee = Fixtures.employee();
+    var jwt = new JwtService(
+      Fixtures.SECRET,
+      Fixtures.EXPIRATION_MS,
+      10000,
+      new SimpleMeterRegistry()
+    );
+
+    var users = mock(CustomUserDetailsService.class);
+    when(users.loadUserByUsername(anyString())).thenReturn(
+      new User(
+        employee.getEmail(),
+        employee.getPassword(),
+        List.of(new SimpleGrantedAuthority("ROLE_" + Role.EMPLOYEE.name()))
+      )
+    );
+    var repo = mock(EmployeeRepository.class);
+    when(repo.findById(any())).thenReturn(Optional.of(employee));
+    var revocations = new TokenRevocationRegistry(repo, stateless);
+    revocations.remember(employee.getId(), employee.getRole());
+
+    filter = new JwtAuthFilter(jwt, users, revocations, stateless);
+    header = "Bearer " + jwt.generate(employee);
+  }
+
+  @Benchmark
+  public Object doFilter() throws Exception {
+    var request = new MockHttpServletRequest("GET", "/kconnect/reports");
+    request.addHeader("Authorization", header);
+    var response = new MockHttpServletResponse();
+    try {
+      filter.doFilter(request, response, new MockFilterChain());
+      return SecurityContextHolder.getContext().getAuthentication();
+    } finally {
+      SecurityContextHolder.clearContext();
+    }
+  }
+}
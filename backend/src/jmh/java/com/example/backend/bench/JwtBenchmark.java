@@ -0,0 +1,58 @@
+package com.example.backend.bench;
+
+import com.example.backend.security.JwtService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+  // 0 = sin cache de claims verificados
+  @Param({ "0", "10000" })
+  int cacheSize;
+
+  JwtService jwt;
+  String token;
+
+  @Setup
+  public void setup() {
+    jwt = new JwtService(
+      Fixtures.SECRET,
+      Fixtures.EXPIRATION_MS,
+      cacheSize,
+      new SimpleMeterRegistry()
+    );
+    token = jwt.generate(Fixtures.employee());
+  }
+
+  @Benchmark
+  public String generate() {
+    return jwt.generate(Fixtures.employee());
+  }
+
+  @Benchmark
+  public boolean isValid() {
+    return jwt.isValid(token);
+  }
+
+  @Benchmark
+  public String extractUsername() {
+    return jwt.extractUsername(token);
+  }
+}
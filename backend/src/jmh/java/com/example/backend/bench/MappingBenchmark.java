@@ -0,0 +1,93 @@
+package com.example.backend.bench;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.example.backend.dto.EmployeeDTO;
+import com.example.backend.dto.ReportDTO;
+import com.example.backend.models.Employee;
+import com.example.backend.models.PerformanceReport;
+import com.example.backend.repository.DepartmentRepository;
+import com.example.backend.repository.EmployeeRepository;
+import com.example.backend.repository.PerformanceReportRepository;
+import com.example.backend.security.TokenRevocationRegistry;
+import com.example.backend.service.DepartmentCache;
+import com.example.backend.service.DepartmentPerformanceService;
+import com.example.backend.service.EmployeeReadModel;
+import com.example.backend.service.EmployeeService;
+import com.example.backend.service.Pagination;
+import com.example.backend.service.ReportArchive;
+import com.example.backend.service.ReportService;
+import com.example.backend.service.TableVersions;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ApplicationEventPublisher;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+  EmployeeService employees;
+  ReportService reports;
+  Employee employee;
+  PerformanceReport report;
+
+  @Setup
+  public void setup() {
+    var deptRepo = mock(DepartmentRepository.class);
+    when(deptRepo.findById(any())).thenReturn(Optional.of(Fixtures.department()));
+    var departments = new DepartmentCache(deptRepo, 1000);
+    var pagination = new Pagination(200, 1000);
+    var empRepo = mock(EmployeeRepository.class);
+    var reportRepo = mock(PerformanceReportRepository.class);
+    var rollups = mock(DepartmentPerformanceService.class);
+
+    employees = new EmployeeService(
+      empRepo,
+      new TokenRevocationRegistry(empRepo, false),
+      pagination,
+      reportRepo,
+      rollups,
+      departments,
+      new TableVersions(),
+      new EmployeeReadModel(1 << 20, 64L << 20),
+      false
+    );
+    reports = new ReportService(
+      reportRepo,
+      empRepo,
+      pagination,
+      rollups,
+      mock(ApplicationEventPublisher.class),
+      departments,
+      mock(ReportArchive.class)
+    );
+    employee = Fixtures.employee();
+    report = Fixtures.report(1);
+  }
+
+  @Benchmark
+  public EmployeeDTO employeeToDto() {
+    return employees.toDto(employee);
+  }
+
+  @Benchmark
+  public ReportDTO reportToDto() {
+    return reports.toDto(report);
+  }
+}
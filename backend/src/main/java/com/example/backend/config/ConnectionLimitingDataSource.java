@@ -0,0 +1,103 @@
+package com.example.backend.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Limita cuántos hilos pueden pedir conexión a la vez. Con virtual threads
+ * miles de peticiones llegan a getConnection() simultáneamente; el semáforo
+ * (justo, FIFO) las encola antes del pool en vez de dejar que compitan dentro
+ * de Hikari. Cada permiso se libera al cerrar la conexión.
+ */
+public class ConnectionLimitingDataSource extends DelegatingDataSource {
+
+  private final Semaphore permits;
+  private final long acquireTimeoutMs;
+
+  public ConnectionLimitingDataSource(
+    DataSource target,
+    int maxConcurrent,
+    long acquireTimeoutMs
+  ) {
+    super(target);
+    this.permits = new Semaphore(maxConcurrent, true);
+    this.acquireTimeoutMs = acquireTimeoutMs;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    acquire();
+    try {
+      return wrap(super.getConnection());
+    } catch (SQLException | RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  @Override
+  public Connection getConnection(String username, String password)
+    throws SQLException {
+    acquire();
+    try {
+      return wrap(super.getConnection(username, password));
+    } catch (SQLException | RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  public int availablePermits() {
+    return permits.availablePermits();
+  }
+
+  public int queueLength() {
+    return permits.getQueueLength();
+  }
+
+  private void acquire() throws SQLException {
+    try {
+      if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+        throw new SQLTransientConnectionException(
+          "Sin conexión disponible tras " + acquireTimeoutMs + " ms"
+        );
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQLTransientConnectionException("Interrumpido esperando conexión", e);
+    }
+  }
+
+  // El permiso se devuelve una sola vez, en el primer close()
+  private Connection wrap(Connection target) {
+    AtomicBoolean released = new AtomicBoolean();
+    return (Connection) Proxy.newProxyInstance(
+      Connection.class.getClassLoader(),
+      new Class<?>[] { Connection.class },
+      (proxy, method, args) -> {
+        if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+          try {
+            return method.invoke(target, args);
+          } catch (InvocationTargetException e) {
+            throw e.getCause();
+          } finally {
+            permits.release();
+          }
+        }
+        try {
+          return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+          throw e.getCause();
+        }
+      }
+    );
+  }
+}
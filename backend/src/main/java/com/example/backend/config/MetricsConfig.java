@@ -0,0 +1,149 @@
+package com.example.backend.config;
+
+import com.example.backend.controller.EncodedResponseCache;
+import com.example.backend.security.JwtService;
+import com.example.backend.service.DepartmentCache;
+import com.example.backend.service.EmployeeReadModel;
+import com.example.backend.service.ReportArchive;
+import com.example.backend.service.ReportColumnStore;
+import com.example.backend.service.ReportStreamHub;
+import com.example.backend.service.ReportWriteBehind;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import javax.sql.DataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+  // Conteo de sentencias por petición (ver RequestSqlStats)
+  @Bean
+  HibernatePropertiesCustomizer sqlCountingInspector(
+    @Value("${app.sql-budget.mode:off}") SqlCountingInspector.Mode mode
+  ) {
+    return props ->
+      props.put(
+        AvailableSettings.STATEMENT_INSPECTOR,
+        new SqlCountingInspector(mode)
+      );
+  }
+
+  @Bean
+  MeterBinder jwtCacheMetrics(JwtService jwt) {
+    return registry -> {
+      FunctionCounter.builder("jwt.cache.hits", jwt, JwtService::cacheHits)
+        .register(registry);
+      FunctionCounter.builder("jwt.cache.misses", jwt, JwtService::cacheMisses)
+        .register(registry);
+      Gauge.builder("jwt.cache.size", jwt, JwtService::cacheSize)
+        .register(registry);
+    };
+  }
+
+  @Bean
+  MeterBinder departmentCacheMetrics(DepartmentCache cache) {
+    return registry -> {
+      FunctionCounter.builder("cache.departments.hits", cache, DepartmentCache::hits)
+        .register(registry);
+      FunctionCounter.builder(
+        "cache.departments.misses",
+        cache,
+        DepartmentCache::misses
+      ).register(registry);
+      Gauge.builder("cache.departments.hit.rate", cache, DepartmentCache::hitRate)
+        .register(registry);
+      Gauge.builder("cache.departments.size", cache, DepartmentCache::size)
+        .register(registry);
+    };
+  }
+
+  @Bean
+  MeterBinder encodedResponseMetrics(EncodedResponseCache cache) {
+    return registry -> {
+      FunctionCounter.builder("cache.responses.hits", cache, EncodedResponseCache::hits)
+        .register(registry);
+      FunctionCounter.builder(
+        "cache.responses.misses",
+        cache,
+        EncodedResponseCache::misses
+      ).register(registry);
+      Gauge.builder("cache.responses.size", cache, EncodedResponseCache::size)
+        .register(registry);
+    };
+  }
+
+  @Bean
+  MeterBinder employeeReadModelMetrics(EmployeeReadModel model) {
+    return registry -> {
+      Gauge.builder("readmodel.employees.size", model, EmployeeReadModel::size)
+        .register(registry);
+      Gauge.builder("readmodel.employees.live.bytes", model, EmployeeReadModel::liveBytes)
+        .baseUnit("bytes")
+        .register(registry);
+      Gauge.builder("readmodel.employees.offheap.bytes", model, EmployeeReadModel::offHeapBytes)
+        .baseUnit("bytes")
+        .register(registry);
+    };
+  }
+
+  @Bean
+  MeterBinder reportWriteBehindMetrics(ReportWriteBehind writeBehind) {
+    return registry -> {
+      Gauge.builder("reports.async.queued", writeBehind, ReportWriteBehind::queued)
+        .register(registry);
+      Gauge.builder(
+        "reports.async.remaining",
+        writeBehind,
+        ReportWriteBehind::remainingCapacity
+      ).register(registry);
+    };
+  }
+
+  @Bean
+  MeterBinder reportStreamMetrics(ReportStreamHub hub) {
+    return registry ->
+      Gauge.builder("reports.stream.subscribers", hub, ReportStreamHub::subscribers)
+        .register(registry);
+  }
+
+  @Bean
+  MeterBinder reportColumnStoreMetrics(ReportColumnStore store) {
+    return registry ->
+      Gauge.builder("analytics.reports.rows", store, ReportColumnStore::size)
+        .register(registry);
+  }
+
+  @Bean
+  MeterBinder reportArchiveMetrics(ReportArchive archive) {
+    return registry -> {
+      Gauge.builder("reports.archive.rows", archive, ReportArchive::reportCount)
+        .register(registry);
+      Gauge.builder("reports.archive.blocks", archive, ReportArchive::blockCount)
+        .register(registry);
+    };
+  }
+
+  // Solo existe si el limitador de virtual threads envuelve el DataSource
+  @Bean
+  MeterBinder connectionLimiterMetrics(DataSource dataSource) {
+    return registry -> {
+      if (dataSource instanceof ConnectionLimitingDataSource limiter) {
+        Gauge.builder(
+          "jdbc.limiter.available",
+          limiter,
+          ConnectionLimitingDataSource::availablePermits
+        ).register(registry);
+        Gauge.builder(
+          "jdbc.limiter.waiting",
+          limiter,
+          ConnectionLimitingDataSource::queueLength
+        ).register(registry);
+      }
+    };
+  }
+}
@@ -0,0 +1,88 @@
+package com.example.backend.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Abre el contador de SQL de la petición, publica sentencias por endpoint
+ * ({@code http.server.requests.sql}) y registra las peticiones lentas con
+ * sus consultas más repetidas. La latencia por endpoint la mide Spring MVC
+ * en {@code http.server.requests}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+  private static final Logger log = LoggerFactory.getLogger(RequestMetricsFilter.class);
+
+  private final MeterRegistry registry;
+  private final long slowMs;
+  private final int topQueries;
+
+  public RequestMetricsFilter(
+    MeterRegistry registry,
+    @Value("${app.metrics.slow-request-ms:500}") long slowMs,
+    @Value("${app.metrics.slow-request-top-queries:5}") int topQueries
+  ) {
+    this.registry = registry;
+    this.slowMs = slowMs;
+    this.topQueries = topQueries;
+  }
+
+  @Override
+  protected void doFilterInternal(
+    HttpServletRequest request,
+    HttpServletResponse response,
+    FilterChain chain
+  ) throws ServletException, IOException {
+    RequestSqlStats stats = RequestSqlStats.begin();
+    long start = System.nanoTime();
+    try {
+      chain.doFilter(request, response);
+    } finally {
+      RequestSqlStats.end();
+      long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+      Object pattern = request.getAttribute(
+        HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE
+      );
+      String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+      DistributionSummary.builder("http.server.requests.sql")
+        .description("Sentencias SQL por petición")
+        .tag("method", request.getMethod())
+        .tag("uri", uri)
+        .register(registry)
+        .record(stats.count());
+
+      if (elapsedMs >= slowMs) {
+        log.warn(
+          "Petición lenta {} {} -> {} en {} ms, {} sentencias SQL. Top: {}",
+          request.getMethod(),
+          uri,
+          response.getStatus(),
+          elapsedMs,
+          stats.count(),
+          stats
+            .top(topQueries)
+            .stream()
+            .map(e -> e.getValue() + "x " + e.getKey())
+            .collect(Collectors.joining(" | "))
+        );
+      }
+    }
+  }
+}
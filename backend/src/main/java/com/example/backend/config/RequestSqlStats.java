@@ -0,0 +1,82 @@
+package com.example.backend.config;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sentencias SQL ejecutadas por la petición en curso (hilo actual).
+ * Lo alimenta {@link SqlCountingInspector}; lo abre y cierra el filtro de métricas.
+ */
+public final class RequestSqlStats {
+
+  // Límite de SQL distintas guardadas por petición (el conteo total no se limita)
+  private static final int MAX_DISTINCT = 200;
+  private static final ThreadLocal<RequestSqlStats> CURRENT = new ThreadLocal<>();
+
+  private int count;
+  private final Map<String, Integer> bySql = new HashMap<>();
+
+  // Presupuesto del endpoint actual (ver @SqlBudget); -1 = sin límite
+  private int budget = -1;
+  private String endpoint;
+  private boolean budgetReported;
+
+  private RequestSqlStats() {}
+
+  public static RequestSqlStats begin() {
+    RequestSqlStats stats = new RequestSqlStats();
+    CURRENT.set(stats);
+    return stats;
+  }
+
+  public static RequestSqlStats current() {
+    return CURRENT.get();
+  }
+
+  public static void end() {
+    CURRENT.remove();
+  }
+
+  void record(String sql) {
+    count++;
+    if (bySql.size() < MAX_DISTINCT || bySql.containsKey(sql)) {
+      bySql.merge(sql, 1, Integer::sum);
+    }
+  }
+
+  public int count() {
+    return count;
+  }
+
+  public void limit(int budget, String endpoint) {
+    this.budget = budget;
+    this.endpoint = endpoint;
+  }
+
+  public int budget() {
+    return budget;
+  }
+
+  public String endpoint() {
+    return endpoint;
+  }
+
+  /** true solo la primera vez que se supera el presupuesto. */
+  boolean exceededBudgetNow() {
+    if (budget < 0 || count <= budget || budgetReported) return false;
+    budgetReported = true;
+    return true;
+  }
+
+  public List<Map.Entry<String, Integer>> top(int n) {
+    return bySql
+      .entrySet()
+      .stream()
+      .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()))
+      .limit(n)
+      .map(e -> Map.entry(e.getKey(), e.getValue()))
+      .toList();
+  }
+}
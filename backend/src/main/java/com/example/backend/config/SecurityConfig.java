@@ -1,8 +1,10 @@
 package com.example.backend.config;
 
 import com.example.backend.security.JwtAuthFilter;
+import jakarta.servlet.DispatcherType;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -27,8 +29,10 @@ public class SecurityConfig {
   private final JwtAuthFilter jwtAuthFilter;
 
   @Bean
-  public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+  public PasswordEncoder passwordEncoder(
+    @Value("${app.security.bcrypt-strength:10}") int strength
+  ) {
+    return new BCryptPasswordEncoder(strength);
   }
 
   @Bean
@@ -42,6 +46,9 @@ public class SecurityConfig {
       )
       .authorizeHttpRequests(auth ->
         auth
+          // Re-dispatch de respuestas async (SSE, exports): ya se autorizó la petición original
+          .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR)
+          .permitAll()
           // 🔓 permite TODO OPTIONS (preflight)
           .requestMatchers(HttpMethod.OPTIONS, "/**")
           .permitAll()
@@ -55,6 +62,11 @@ public class SecurityConfig {
             "/swagger-ui/**"
           )
           .permitAll()
+          // métricas: solo ADMIN
+          .requestMatchers("/actuator/health")
+          .permitAll()
+          .requestMatchers("/actuator/**")
+          .hasRole("ADMIN")
           // resto de tus reglas
           .requestMatchers("/users/**")
           .hasRole("ADMIN")
@@ -111,7 +123,7 @@ public class SecurityConfig {
     );
     cors.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
     cors.setAllowedHeaders(List.of("*")); // muy importante
-    cors.setExposedHeaders(List.of("Authorization"));
+    cors.setExposedHeaders(List.of("Authorization", "X-Next-Cursor", "ETag"));
     cors.setAllowCredentials(true);
 
     UrlBasedCorsConfigurationSource source =
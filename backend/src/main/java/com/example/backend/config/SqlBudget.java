@@ -0,0 +1,19 @@
+package com.example.backend.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Máximo de sentencias SQL que puede ejecutar una petición a este endpoint.
+ * Se aplica según {@code app.sql-budget.mode}: off, log (aviso) o fail (la
+ * petición falla en la sentencia que excede el presupuesto).
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqlBudget {
+  int value();
+}
@@ -0,0 +1,16 @@
+package com.example.backend.config;
+
+public class SqlBudgetExceededException extends RuntimeException {
+
+  public SqlBudgetExceededException(RequestSqlStats stats) {
+    super(
+      "Presupuesto SQL excedido en " +
+      stats.endpoint() +
+      ": " +
+      stats.count() +
+      " sentencias (máximo " +
+      stats.budget() +
+      ")"
+    );
+  }
+}
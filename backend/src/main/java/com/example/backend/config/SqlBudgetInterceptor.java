@@ -0,0 +1,29 @@
+package com.example.backend.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+// Copia el @SqlBudget del controlador al contador de la petición
+public class SqlBudgetInterceptor implements HandlerInterceptor {
+
+  @Override
+  public boolean preHandle(
+    HttpServletRequest request,
+    HttpServletResponse response,
+    Object handler
+  ) {
+    RequestSqlStats stats = RequestSqlStats.current();
+    if (stats != null && handler instanceof HandlerMethod method) {
+      SqlBudget budget = method.getMethodAnnotation(SqlBudget.class);
+      if (budget != null) {
+        stats.limit(
+          budget.value(),
+          method.getBeanType().getSimpleName() + "." + method.getMethod().getName()
+        );
+      }
+    }
+    return true;
+  }
+}
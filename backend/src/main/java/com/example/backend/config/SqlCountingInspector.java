@@ -0,0 +1,38 @@
+package com.example.backend.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Cuenta cada sentencia que prepara Hibernate dentro de una petición
+// y aplica el @SqlBudget del endpoint
+public class SqlCountingInspector implements StatementInspector {
+
+  public enum Mode {
+    OFF,
+    LOG,
+    FAIL,
+  }
+
+  private static final Logger log = LoggerFactory.getLogger(SqlCountingInspector.class);
+
+  private final Mode mode;
+
+  public SqlCountingInspector(Mode mode) {
+    this.mode = mode;
+  }
+
+  @Override
+  public String inspect(String sql) {
+    RequestSqlStats stats = RequestSqlStats.current();
+    if (stats == null) return sql;
+
+    stats.record(sql);
+    if (mode != Mode.OFF && stats.exceededBudgetNow()) {
+      var error = new SqlBudgetExceededException(stats);
+      if (mode == Mode.FAIL) throw error;
+      log.warn("{} Última sentencia: {}", error.getMessage(), sql);
+    }
+    return sql;
+  }
+}
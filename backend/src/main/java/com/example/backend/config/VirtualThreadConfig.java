@@ -0,0 +1,92 @@
+package com.example.backend.config;
+
+import java.time.Duration;
+import javax.sql.DataSource;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Soporte para {@code spring.threads.virtual.enabled=true}: limitador delante
+ * del pool JDBC y diagnóstico de pinning (virtual thread bloqueado dentro de
+ * un {@code synchronized}, p. ej. en el driver).
+ */
+@Configuration
+public class VirtualThreadConfig {
+
+  private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+  // static: debe registrarse antes de que se cree el DataSource
+  @Bean
+  static BeanPostProcessor connectionLimiter(Environment env) {
+    boolean enabled = env.getProperty(
+      "app.datasource.limiter.enabled",
+      Boolean.class,
+      env.getProperty("spring.threads.virtual.enabled", Boolean.class, false)
+    );
+    int permits = env.getProperty(
+      "spring.datasource.hikari.maximum-pool-size",
+      Integer.class,
+      10
+    );
+    long timeoutMs = env.getProperty(
+      "app.datasource.limiter.acquire-timeout-ms",
+      Long.class,
+      30000L
+    );
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String name) {
+        if (
+          enabled &&
+          bean instanceof DataSource ds &&
+          !(bean instanceof ConnectionLimitingDataSource)
+        ) {
+          return new ConnectionLimitingDataSource(ds, permits, timeoutMs);
+        }
+        return bean;
+      }
+    };
+  }
+
+  // Equivalente en proceso a -Djdk.tracePinnedThreads, vía JFR
+  @Bean
+  @ConditionalOnProperty(name = "app.virtual-threads.pinning-monitor", havingValue = "true")
+  PinningMonitor pinningMonitor(
+    @Value("${app.virtual-threads.pinning-threshold-ms:20}") long thresholdMs
+  ) {
+    return new PinningMonitor(Duration.ofMillis(thresholdMs));
+  }
+
+  static class PinningMonitor implements DisposableBean {
+
+    private final RecordingStream stream = new RecordingStream();
+
+    PinningMonitor(Duration threshold) {
+      stream
+        .enable("jdk.VirtualThreadPinned")
+        .withThreshold(threshold)
+        .withStackTrace();
+      stream.onEvent("jdk.VirtualThreadPinned", e ->
+        log.warn(
+          "Virtual thread pinned {} ms en {}",
+          e.getDuration().toMillis(),
+          e.getStackTrace() != null ? e.getStackTrace().getFrames() : "?"
+        )
+      );
+      stream.startAsync();
+    }
+
+    @Override
+    public void destroy() {
+      stream.close();
+    }
+  }
+}
@@ -0,0 +1,41 @@
+package com.example.backend.controller;
+
+import com.example.backend.dto.ScoreAggregateDTO;
+import com.example.backend.service.ReportAnalyticsService;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/analytics")
+public class AnalyticsController {
+
+  private final ReportAnalyticsService analytics;
+
+  public AnalyticsController(ReportAnalyticsService analytics) {
+    this.analytics = analytics;
+  }
+
+  // Score agregado sobre el snapshot en memoria (solo ADMIN)
+  // p. ej. ?groupBy=department&from=2025-01-01&to=2025-04-01
+  @GetMapping("/reports/scores")
+  @PreAuthorize("hasRole('ADMIN')")
+  public List<ScoreAggregateDTO> scores(
+    @RequestParam(required = false) String groupBy,
+    @RequestParam(required = false) @DateTimeFormat(
+      iso = DateTimeFormat.ISO.DATE
+    ) LocalDate from,
+    @RequestParam(required = false) @DateTimeFormat(
+      iso = DateTimeFormat.ISO.DATE
+    ) LocalDate to,
+    @RequestParam(required = false) Long departmentId,
+    @RequestParam(required = false) Long employeeId
+  ) {
+    return analytics.scores(groupBy, from, to, departmentId, employeeId);
+  }
+}
@@ -8,7 +8,14 @@ import com.example.backend.models.Employee;
 import com.example.backend.repository.DepartmentRepository;
 import com.example.backend.repository.EmployeeRepository;
 import com.example.backend.security.JwtService;
+import com.example.backend.security.LoginThrottle;
+import com.example.backend.security.PasswordHashingExecutor;
+import com.example.backend.service.DepartmentCache;
+import com.example.backend.service.TableVersions;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import java.util.concurrent.RejectedExecutionException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -29,19 +36,31 @@ public class AuthController {
   private final EmployeeRepository employeeRepo;
   private final DepartmentRepository departmentRepo;
   private final PasswordEncoder encoder;
+  private final DepartmentCache departmentCache;
+  private final PasswordHashingExecutor hashing;
+  private final LoginThrottle throttle;
+  private final TableVersions versions;
 
   public AuthController(
     AuthenticationManager authManager,
     JwtService jwtService,
     EmployeeRepository employeeRepo,
     DepartmentRepository departmentRepo,
-    PasswordEncoder encoder
+    PasswordEncoder encoder,
+    DepartmentCache departmentCache,
+    PasswordHashingExecutor hashing,
+    LoginThrottle throttle,
+    TableVersions versions
   ) {
     this.authManager = authManager;
     this.jwtService = jwtService;
     this.employeeRepo = employeeRepo;
     this.departmentRepo = departmentRepo;
     this.encoder = encoder;
+    this.departmentCache = departmentCache;
+    this.hashing = hashing;
+    this.throttle = throttle;
+    this.versions = versions;
   }
 
   @PostMapping("/register")
@@ -54,36 +73,61 @@ public class AuthController {
       );
     }
 
+    String hash;
+    try {
+      hash = hashing.run("register", () -> encoder.encode(request.getPassword()));
+    } catch (RejectedExecutionException e) {
+      return overloaded();
+    }
+
     var emp = Employee.builder()
       .fullName(request.getFullName())
       .email(request.getEmail())
-      .password(encoder.encode(request.getPassword()))
+      .password(hash)
       .role(request.getRole() != null ? request.getRole() : Role.EMPLOYEE)
       .build();
 
     if (request.getDepartmentId() != null) {
+      // Existencia validada contra la cache; solo se asigna una referencia
+      departmentCache
+        .find(request.getDepartmentId())
+        .orElseThrow(() -> new RuntimeException("Departamento no encontrado"));
       emp.setDepartment(
-        departmentRepo
-          .findById(request.getDepartmentId())
-          .orElseThrow(() -> new RuntimeException("Departamento no encontrado"))
+        departmentRepo.getReferenceById(request.getDepartmentId())
       );
     }
 
     employeeRepo.save(emp);
+    versions.bump(TableVersions.Table.EMPLOYEES);
     var token = jwtService.generate(emp); // 👈 usa el objeto Employee
     return ResponseEntity.ok(new AuthResponse(token));
   }
 
   @PostMapping("/login")
   public ResponseEntity<AuthResponse> login(
-    @Valid @RequestBody AuthRequest request
+    @Valid @RequestBody AuthRequest request,
+    HttpServletRequest http
   ) {
-    Authentication auth = authManager.authenticate(
-      new UsernamePasswordAuthenticationToken(
-        request.getEmail(),
-        request.getPassword()
-      )
-    );
+    long wait = throttle.tryAcquire(http.getRemoteAddr(), request.getEmail());
+    if (wait > 0) {
+      return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(wait))
+        .body(new AuthResponse("Demasiados intentos, reintenta más tarde"));
+    }
+
+    Authentication auth;
+    try {
+      auth = hashing.run("login", () ->
+        authManager.authenticate(
+          new UsernamePasswordAuthenticationToken(
+            request.getEmail(),
+            request.getPassword()
+          )
+        )
+      );
+    } catch (RejectedExecutionException e) {
+      return overloaded();
+    }
     var emp = employeeRepo
       .findByEmail(auth.getName())
       .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
@@ -91,4 +135,11 @@ public class AuthController {
     var token = jwtService.generate(emp); // 👈 idem
     return ResponseEntity.ok(new AuthResponse(token));
   }
+
+  // Pool de BCrypt saturado: respuesta inmediata en vez de encolar sin límite
+  private ResponseEntity<AuthResponse> overloaded() {
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+      .header(HttpHeaders.RETRY_AFTER, "1")
+      .body(new AuthResponse("Servicio ocupado, reintenta en unos segundos"));
+  }
 }
@@ -1,10 +1,23 @@
 package com.example.backend.controller;
 
+import com.example.backend.config.SqlBudget;
+import com.example.backend.controller.EncodedResponseCache.Encoded;
 import com.example.backend.dto.DepartmentDTO;
-import com.example.backend.dto.DepartmentStatsDTO;
+import com.example.backend.dto.DepartmentPerformanceDTO;
+import com.example.backend.dto.LeaderboardEntryDTO;
+import com.example.backend.dto.ScoreDistributionDTO;
 import com.example.backend.models.Department;
+import com.example.backend.service.DepartmentPerformanceService;
 import com.example.backend.service.DepartmentService;
+import com.example.backend.service.LeaderboardService;
+import com.example.backend.service.ScoreDistributionService;
+import com.example.backend.service.TableVersions;
+import com.example.backend.service.TableVersions.Table;
+import java.time.YearMonth;
 import java.util.List;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -14,16 +27,44 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/departments")
 public class DepartmentController {
 
   private final DepartmentService service;
+  private final DepartmentPerformanceService performance;
+  private final TableVersions versions;
+  private final EncodedResponseCache responses;
+  private final LeaderboardService leaderboard;
+  private final ScoreDistributionService distribution;
 
-  public DepartmentController(DepartmentService service) {
+  // Datos por usuario autenticado: el navegador puede guardarlos pero debe revalidar
+  private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+  private static final Table[] LIST_TABLES = { Table.DEPARTMENTS };
+  private static final Table[] STATS_TABLES = {
+    Table.DEPARTMENTS,
+    Table.EMPLOYEES,
+    Table.REPORTS,
+  };
+
+  public DepartmentController(
+    DepartmentService service,
+    DepartmentPerformanceService performance,
+    TableVersions versions,
+    EncodedResponseCache responses,
+    LeaderboardService leaderboard,
+    ScoreDistributionService distribution
+  ) {
     this.service = service;
+    this.performance = performance;
+    this.versions = versions;
+    this.responses = responses;
+    this.leaderboard = leaderboard;
+    this.distribution = distribution;
   }
 
   @PostMapping
@@ -33,8 +74,23 @@ public class DepartmentController {
   }
 
   @GetMapping
-  public List<DepartmentDTO> all() {
-    return service.all();
+  @SqlBudget(1)
+  public ResponseEntity<byte[]> all(
+    @RequestParam(required = false) String cursor,
+    @RequestParam(required = false) Integer size,
+    WebRequest request
+  ) {
+    boolean gzip = EncodedResponseCache.acceptsGzip(request);
+    // El ETag se calcula antes de leer: un 304 no toca la BD
+    String etag = versions.etag("d", LIST_TABLES, cursor, size, gzip ? "gz" : "");
+    if (request.checkNotModified(etag)) return null;
+
+    var encoded = responses.get(
+      "departments:" + cursor + ":" + size,
+      versions.stamp(LIST_TABLES),
+      () -> service.page(cursor, size)
+    );
+    return write(encoded, gzip, etag);
   }
 
   @PutMapping("/{id}")
@@ -54,7 +110,80 @@ public class DepartmentController {
   }
 
   @GetMapping("/stats")
-  public List<DepartmentStatsDTO> stats() {
-    return service.stats();
+  @SqlBudget(1)
+  public ResponseEntity<byte[]> stats(WebRequest request) {
+    boolean gzip = EncodedResponseCache.acceptsGzip(request);
+    String etag = versions.etag("s", STATS_TABLES, gzip ? "gz" : "");
+    if (request.checkNotModified(etag)) return null;
+
+    var encoded = responses.get(
+      "departments:stats",
+      versions.stamp(STATS_TABLES),
+      () -> service.stats()
+    );
+    return write(encoded, gzip, etag);
+  }
+
+  // Top-K de empleados por score medio, mantenido en memoria en cada cambio.
+  // Expone scores de otros empleados: solo ADMIN, como /reports/department/{id}
+  @GetMapping("/{id}/leaderboard")
+  @PreAuthorize("hasRole('ADMIN')")
+  public List<LeaderboardEntryDTO> leaderboard(
+    @PathVariable Long id,
+    @RequestParam(required = false) Integer k
+  ) {
+    return leaderboard.top(id, k);
+  }
+
+  // Percentiles e histograma de score por meses (?from=2025-01&to=2025-06&binWidth=10)
+  @GetMapping("/{id}/score-distribution")
+  public ScoreDistributionDTO scoreDistribution(
+    @PathVariable Long id,
+    @RequestParam(required = false) YearMonth from,
+    @RequestParam(required = false) YearMonth to,
+    @RequestParam(required = false) Integer binWidth
+  ) {
+    return distribution.forDepartment(id, from, to, binWidth);
+  }
+
+  // Lo mismo para toda la organización: mezcla de los histogramas de cada departamento
+  @GetMapping("/score-distribution")
+  public ScoreDistributionDTO organizationScoreDistribution(
+    @RequestParam(required = false) YearMonth from,
+    @RequestParam(required = false) YearMonth to,
+    @RequestParam(required = false) Integer binWidth
+  ) {
+    return distribution.forOrganization(from, to, binWidth);
+  }
+
+  // Rollup mantenido en cada escritura de reportes: lectura O(1)
+  @GetMapping("/{id}/performance")
+  @SqlBudget(1)
+  public DepartmentPerformanceDTO performance(@PathVariable Long id) {
+    return performance.get(id);
+  }
+
+  // Recalcula todos los rollups desde los reportes (repara desfases)
+  @PostMapping("/performance/rebuild")
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<Void> rebuildPerformance() {
+    performance.rebuildAll();
+    return ResponseEntity.noContent().build();
+  }
+
+  // Bytes ya serializados (y comprimidos si el cliente acepta gzip) directo a la respuesta
+  private ResponseEntity<byte[]> write(Encoded encoded, boolean gzip, String etag) {
+    var res = ResponseEntity.ok()
+      .contentType(MediaType.APPLICATION_JSON)
+      .eTag(etag)
+      .cacheControl(REVALIDATE)
+      .varyBy(HttpHeaders.AUTHORIZATION, HttpHeaders.ACCEPT_ENCODING);
+    if (encoded.gzipped(gzip)) {
+      res.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+    }
+    if (encoded.nextCursor() != null) {
+      res.header(PageResponses.NEXT_CURSOR, encoded.nextCursor());
+    }
+    return res.body(encoded.body(gzip));
   }
 }
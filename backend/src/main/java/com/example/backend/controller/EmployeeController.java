@@ -1,8 +1,11 @@
 package com.example.backend.controller;
 
+import com.example.backend.config.SqlBudget;
 import com.example.backend.dto.EmployeeDTO;
+import com.example.backend.dto.ScoreTrendDTO;
 import com.example.backend.models.Employee;
 import com.example.backend.service.EmployeeService;
+import com.example.backend.service.ScoreTrendService;
 import java.util.List;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -15,6 +18,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -22,9 +26,11 @@ import org.springframework.web.bind.annotation.RestController;
 public class EmployeeController {
 
   private final EmployeeService service;
+  private final ScoreTrendService trends;
 
-  public EmployeeController(EmployeeService service) {
+  public EmployeeController(EmployeeService service, ScoreTrendService trends) {
     this.service = service;
+    this.trends = trends;
   }
 
   // Crear empleado (solo ADMIN)
@@ -35,11 +41,16 @@ public class EmployeeController {
     return ResponseEntity.ok(service.findOne(saved.getId()).orElseThrow());
   }
 
-  // Listar empleados (solo ADMIN)
+  // Listar empleados (solo ADMIN), paginado por cursor
   @GetMapping
   @PreAuthorize("hasRole('ADMIN')")
-  public List<EmployeeDTO> all() {
-    return service.findAll();
+  // 1 página + como mucho unas pocas cargas de DepartmentCache
+  @SqlBudget(5)
+  public ResponseEntity<List<EmployeeDTO>> all(
+    @RequestParam(required = false) String cursor,
+    @RequestParam(required = false) Integer size
+  ) {
+    return PageResponses.of(service.findPage(cursor, size));
   }
 
   // Ver perfil por ID (ADMIN o dueño)
@@ -54,14 +65,39 @@ public class EmployeeController {
       .stream()
       .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
 
-    var empOpt = service.findEntityById(id);
+    // Sale del modelo de lectura en memoria; la BD solo si no está cargado
+    var empOpt = service.findOne(id);
     if (empOpt.isEmpty()) return ResponseEntity.notFound().build();
 
     var emp = empOpt.get();
-    if (!isAdmin && !emp.getEmail().equals(email)) {
+    if (!isAdmin && !service.isOwner(emp, email)) {
+      return ResponseEntity.status(403).build();
+    }
+    return ResponseEntity.ok(emp);
+  }
+
+  // Evolución del score por mes o trimestre (ADMIN o dueño)
+  @GetMapping("/{id}/performance/trend")
+  @PreAuthorize("hasAnyRole('ADMIN','EMPLOYEE')")
+  @SqlBudget(2)
+  public ResponseEntity<ScoreTrendDTO> trend(
+    @PathVariable Long id,
+    @RequestParam(defaultValue = "month") String bucket
+  ) {
+    Authentication auth = SecurityContextHolder.getContext()
+      .getAuthentication();
+    boolean isAdmin = auth
+      .getAuthorities()
+      .stream()
+      .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+
+    // Sin el nombre del departamento: en frío son 2 consultas (perfil + serie)
+    var emp = service.findProfile(id);
+    if (emp.isEmpty()) return ResponseEntity.notFound().build();
+    if (!isAdmin && !service.isOwner(emp.get(), auth.getName())) {
       return ResponseEntity.status(403).build();
     }
-    return ResponseEntity.ok(service.toDto(emp));
+    return ResponseEntity.ok(trends.trend(id, bucket));
   }
 
   // Actualizar perfil (propio o ADMIN)
@@ -0,0 +1,130 @@
+package com.example.backend.controller;
+
+import com.example.backend.dto.CursorPage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Guarda el último JSON ya serializado (y comprimido) de respuestas de lectura
+ * muy repetidas. Cada entrada lleva el stamp de TableVersions con el que se
+ * generó: si las tablas cambian se vuelve a serializar y la entrada se
+ * reemplaza de forma atómica, sin bloquear a los lectores.
+ */
+@Component
+public class EncodedResponseCache {
+
+  public record Encoded(long stamp, byte[] json, byte[] gzip, String nextCursor) {
+    public byte[] body(boolean gzipAccepted) {
+      return gzipAccepted && gzip != null ? gzip : json;
+    }
+
+    public boolean gzipped(boolean gzipAccepted) {
+      return gzipAccepted && gzip != null;
+    }
+  }
+
+  private final ObjectMapper mapper;
+  private final int maxEntries;
+  private final int gzipMinBytes;
+  private final Map<String, Encoded> entries = new ConcurrentHashMap<>();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  public EncodedResponseCache(
+    ObjectMapper mapper,
+    @Value("${app.http.encoded-cache.max-entries:64}") int maxEntries,
+    @Value("${app.http.encoded-cache.gzip-min-bytes:1024}") int gzipMinBytes
+  ) {
+    this.mapper = mapper;
+    this.maxEntries = maxEntries;
+    this.gzipMinBytes = gzipMinBytes;
+  }
+
+  /**
+   * Cualquier cuerpo serializable. Si es una página keyset se guardan solo los
+   * items y el cursor siguiente va aparte (X-Next-Cursor); p. ej. stats es una
+   * lista sin cursor.
+   */
+  public Encoded get(String key, long stamp, Supplier<?> load) {
+    Encoded cached = entries.get(key);
+    if (cached != null && cached.stamp() == stamp) {
+      hits.increment();
+      return cached;
+    }
+    misses.increment();
+
+    Object body = load.get();
+    Encoded fresh = body instanceof CursorPage<?> page
+      ? encode(stamp, page.getItems(), page.getNextCursor())
+      : encode(stamp, body, null);
+
+    // Las claves son pocas (primeras páginas, stats); si se disparan, se empieza de cero
+    if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+      entries.clear();
+    }
+    // Nunca se pisa un snapshot más nuevo con uno calculado antes
+    entries.merge(key, fresh, (old, neu) ->
+      neu.stamp() >= old.stamp() ? neu : old
+    );
+    return fresh;
+  }
+
+  public static boolean acceptsGzip(WebRequest request) {
+    String accept = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+    if (accept == null) return false;
+    for (String part : accept.split(",")) {
+      String[] tokens = part.trim().split(";");
+      if (!tokens[0].trim().equalsIgnoreCase("gzip")) continue;
+      return tokens.length < 2 || !tokens[1].replace(" ", "").equals("q=0");
+    }
+    return false;
+  }
+
+  public long hits() {
+    return hits.sum();
+  }
+
+  public long misses() {
+    return misses.sum();
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  private Encoded encode(long stamp, Object body, String nextCursor) {
+    byte[] json = serialize(body);
+    byte[] gzip = json.length >= gzipMinBytes ? gzip(json) : null;
+    return new Encoded(stamp, json, gzip, nextCursor);
+  }
+
+  private byte[] serialize(Object body) {
+    try {
+      return mapper.writeValueAsBytes(body);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("No se pudo serializar la respuesta", e);
+    }
+  }
+
+  private static byte[] gzip(byte[] json) {
+    var out = new ByteArrayOutputStream(json.length / 4 + 64);
+    try (var gz = new GZIPOutputStream(out)) {
+      gz.write(json);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out.toByteArray();
+  }
+}
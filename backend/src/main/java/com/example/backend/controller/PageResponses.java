@@ -0,0 +1,21 @@
+package com.example.backend.controller;
+
+import com.example.backend.dto.CursorPage;
+import java.util.List;
+import org.springframework.http.ResponseEntity;
+
+// El cuerpo sigue siendo la lista; el cursor viaja en X-Next-Cursor
+final class PageResponses {
+
+  static final String NEXT_CURSOR = "X-Next-Cursor";
+
+  private PageResponses() {}
+
+  static <T> ResponseEntity<List<T>> of(CursorPage<T> page) {
+    var res = ResponseEntity.ok();
+    if (page.getNextCursor() != null) {
+      res.header(NEXT_CURSOR, page.getNextCursor());
+    }
+    return res.body(page.getItems());
+  }
+}
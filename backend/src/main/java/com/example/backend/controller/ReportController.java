@@ -1,8 +1,24 @@
 package com.example.backend.controller;
 
+import com.example.backend.config.SqlBudget;
+import com.example.backend.dto.AsyncReportStatus;
+import com.example.backend.dto.BulkReportItem;
+import com.example.backend.dto.BulkReportResult;
 import com.example.backend.dto.ReportDTO;
+import com.example.backend.dto.ReportSearchResult;
+import com.example.backend.service.ReportArchiveJob;
+import com.example.backend.service.ReportBulkService;
+import com.example.backend.service.ReportExportService;
+import com.example.backend.service.ReportSearchService;
 import com.example.backend.service.ReportService;
+import com.example.backend.service.ReportStreamHub;
+import com.example.backend.service.ReportWriteBehind;
+import java.net.URI;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -11,36 +27,174 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 @RestController
 @RequestMapping("/reports")
 public class ReportController {
 
   private final ReportService service;
+  private final ReportExportService exporter;
+  private final ReportBulkService bulk;
+  private final ReportSearchService search;
+  private final ReportWriteBehind writeBehind;
+  private final ReportStreamHub streams;
+  private final ReportArchiveJob archiver;
 
-  public ReportController(ReportService service) {
+  public ReportController(
+    ReportService service,
+    ReportExportService exporter,
+    ReportBulkService bulk,
+    ReportSearchService search,
+    ReportWriteBehind writeBehind,
+    ReportStreamHub streams,
+    ReportArchiveJob archiver
+  ) {
     this.service = service;
+    this.exporter = exporter;
+    this.bulk = bulk;
+    this.search = search;
+    this.writeBehind = writeBehind;
+    this.streams = streams;
+    this.archiver = archiver;
   }
 
   // Crear reporte (empleado autenticado)
+  // Con "Prefer: respond-async" (y app.reports.async.enabled) se encola y responde 202
   @PostMapping
-  public ResponseEntity<ReportDTO> create(@RequestBody ReportDTO dto) {
-    return ResponseEntity.ok(service.create(dto));
+  public ResponseEntity<?> create(
+    @RequestBody ReportDTO dto,
+    @RequestHeader(value = "Prefer", required = false) String prefer
+  ) {
+    if (!writeBehind.isEnabled() || prefer == null || !prefer.contains("respond-async")) {
+      return ResponseEntity.ok(service.create(dto));
+    }
+
+    AsyncReportStatus queued;
+    try {
+      queued = writeBehind.submit(dto);
+    } catch (RejectedExecutionException e) {
+      // Cola llena: el cliente reintenta en vez de acumular peticiones
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, "1")
+        .build();
+    }
+    URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+      .path("/reports/async/{id}")
+      .buildAndExpand(queued.getTrackingId())
+      .toUri();
+    return ResponseEntity.accepted()
+      .location(location)
+      .header("Preference-Applied", "respond-async")
+      .body(queued);
+  }
+
+  // Estado de un reporte encolado (dueño o ADMIN)
+  @GetMapping("/async/{trackingId}")
+  public ResponseEntity<AsyncReportStatus> asyncStatus(@PathVariable String trackingId) {
+    return writeBehind
+      .status(trackingId)
+      .map(ResponseEntity::ok)
+      .orElseGet(() -> ResponseEntity.notFound().build());
+  }
+
+  // Carga masiva con resultado por fila (solo ADMIN)
+  @PostMapping("/bulk")
+  @PreAuthorize("hasRole('ADMIN')")
+  public List<BulkReportResult> bulk(@RequestBody List<BulkReportItem> items) {
+    return bulk.ingest(items);
+  }
+
+  // Archivado manual de reportes antiguos (el programado depende de app.archive.enabled)
+  @PostMapping("/archive/run")
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<Long> archive() {
+    long moved = archiver.run();
+    if (moved < 0) return ResponseEntity.status(HttpStatus.CONFLICT).build();
+    return ResponseEntity.ok(moved);
   }
 
   // Listar reportes del empleado autenticado
   @GetMapping
-  public List<ReportDTO> myReports() {
-    return service.myReports();
+  @SqlBudget(2)
+  public ResponseEntity<List<ReportDTO>> myReports(
+    @RequestParam(required = false) String cursor,
+    @RequestParam(required = false) Integer size
+  ) {
+    return PageResponses.of(service.myReports(cursor, size));
+  }
+
+  // Búsqueda de texto sobre título y descripción (índice en memoria)
+  @GetMapping("/search")
+  public ReportSearchResult search(
+    @RequestParam String q,
+    @RequestParam(required = false) Long departmentId,
+    @RequestParam(required = false) Integer page,
+    @RequestParam(required = false) Integer size
+  ) {
+    return search.search(q, departmentId, page, size);
   }
 
   // Listar reportes por departamento (solo ADMIN)
   @GetMapping("/department/{departmentId}")
   @PreAuthorize("hasRole('ADMIN')")
-  public List<ReportDTO> byDepartment(@PathVariable Long departmentId) {
-    return service.byDepartment(departmentId);
+  @SqlBudget(1)
+  public ResponseEntity<List<ReportDTO>> byDepartment(
+    @PathVariable Long departmentId,
+    @RequestParam(required = false) String cursor,
+    @RequestParam(required = false) Integer size
+  ) {
+    return PageResponses.of(service.byDepartment(departmentId, cursor, size));
+  }
+
+  // Cambios en vivo de los reportes del departamento (SSE, solo ADMIN)
+  @GetMapping(
+    value = "/department/{departmentId}/stream",
+    produces = MediaType.TEXT_EVENT_STREAM_VALUE
+  )
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<SseEmitter> stream(
+    @PathVariable Long departmentId,
+    @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+  ) {
+    try {
+      return ResponseEntity.ok()
+        .header("X-Accel-Buffering", "no") // sin buffer en nginx
+        .body(streams.subscribe(departmentId, lastEventId));
+    } catch (RejectedExecutionException e) {
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, "5")
+        .build();
+    }
+  }
+
+  // Exportar reportes del departamento en streaming (solo ADMIN)
+  @GetMapping("/department/{departmentId}/export")
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<StreamingResponseBody> export(
+    @PathVariable Long departmentId,
+    @RequestParam(defaultValue = "csv") String format
+  ) {
+    var f = ReportExportService.Format.parse(format);
+    StreamingResponseBody body = out ->
+      exporter.exportByDepartment(departmentId, f, out);
+    return ResponseEntity.ok()
+      .contentType(f.mediaType())
+      .header(
+        HttpHeaders.CONTENT_DISPOSITION,
+        "attachment; filename=\"reports-department-" +
+        departmentId +
+        "." +
+        f.extension() +
+        "\""
+      )
+      .body(body);
   }
 
   // Editar reporte (propio o ADMIN)
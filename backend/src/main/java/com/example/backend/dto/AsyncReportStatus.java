@@ -0,0 +1,28 @@
+package com.example.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class AsyncReportStatus {
+
+  public enum Status {
+    QUEUED,
+    CREATED,
+    REJECTED,
+    FAILED,
+  }
+
+  private String trackingId;
+  private Status status;
+
+  // Solo cuando status = CREATED
+  private Long reportId;
+  private String error;
+  private String submittedAt;
+}
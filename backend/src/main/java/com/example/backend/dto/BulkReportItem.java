@@ -0,0 +1,23 @@
+package com.example.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkReportItem {
+
+  // Basta con uno de los dos; si vienen ambos manda el id
+  private Long employeeId;
+  private String employeeEmail;
+
+  private String title;
+  private String description;
+  private Integer score;
+}
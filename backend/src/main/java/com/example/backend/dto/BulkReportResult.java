@@ -0,0 +1,32 @@
+package com.example.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkReportResult {
+
+  public enum Status {
+    CREATED,
+    REJECTED,
+  }
+
+  // Posición del item en la petición
+  private int index;
+  private Status status;
+  private Long id;
+  private String error;
+
+  public static BulkReportResult created(int index, Long id) {
+    return new BulkReportResult(index, Status.CREATED, id, null);
+  }
+
+  public static BulkReportResult rejected(int index, String error) {
+    return new BulkReportResult(index, Status.REJECTED, null, error);
+  }
+}
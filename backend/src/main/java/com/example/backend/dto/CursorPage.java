@@ -0,0 +1,15 @@
+package com.example.backend.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+
+  private List<T> items;
+
+  // Cursor opaco para pedir la siguiente página (null si no hay más)
+  private String nextCursor;
+}
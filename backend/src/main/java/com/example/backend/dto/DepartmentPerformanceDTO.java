@@ -0,0 +1,22 @@
+package com.example.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class DepartmentPerformanceDTO {
+
+  private Long departmentId;
+  private long reportCount;
+  private Double avgScore;
+  private Integer minScore;
+  private Integer maxScore;
+  private String lastReportAt;
+}
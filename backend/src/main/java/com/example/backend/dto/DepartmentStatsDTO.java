@@ -9,5 +9,11 @@ public class DepartmentStatsDTO {
 
   private Long id;
   private String name;
-  private int employeeCount;
+  private Long employeeCount;
+
+  // Métricas de reportes (null si el departamento no tiene reportes)
+  private Long reportCount;
+  private Double avgScore;
+  private Integer minScore;
+  private Integer maxScore;
 }
@@ -0,0 +1,19 @@
+package com.example.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class LeaderboardEntryDTO {
+
+  private int rank;
+  private Long employeeId;
+  private String fullName;
+  private double averageScore;
+  private long reportCount;
+}
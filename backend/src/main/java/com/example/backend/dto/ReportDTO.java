@@ -2,6 +2,7 @@ package com.example.backend.dto;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import java.time.Instant;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -41,4 +42,29 @@ public class ReportDTO {
 
   @NotBlank
   private String departmentName;
+
+  // Usado por las proyecciones JPQL (select new ...) del repositorio
+  public ReportDTO(
+    Long id,
+    String title,
+    String description,
+    Integer score,
+    Long employeeId,
+    Long departmentId,
+    Instant createdAt,
+    String employeeName,
+    String departmentName
+  ) {
+    this(
+      id,
+      title,
+      description,
+      score,
+      employeeId,
+      departmentId,
+      createdAt != null ? createdAt.toString() : null,
+      employeeName,
+      departmentName
+    );
+  }
 }
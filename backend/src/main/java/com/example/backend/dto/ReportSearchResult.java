@@ -0,0 +1,29 @@
+package com.example.backend.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReportSearchResult {
+
+  private int total;
+  private int page;
+  private int size;
+  private List<Hit> hits;
+
+  @Getter
+  @Setter
+  @AllArgsConstructor
+  @NoArgsConstructor
+  public static class Hit {
+
+    private double score;
+    private ReportDTO report;
+  }
+}
@@ -0,0 +1,24 @@
+package com.example.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ScoreAggregateDTO {
+
+  // id de departamento/empleado, "YYYY-MM" o "all" según groupBy
+  private String key;
+
+  // Nombre del departamento cuando se agrupa por departamento
+  private String label;
+
+  private long count;
+  private double avgScore;
+  private int minScore;
+  private int maxScore;
+}
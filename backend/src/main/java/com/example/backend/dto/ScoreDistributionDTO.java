@@ -0,0 +1,40 @@
+package com.example.backend.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ScoreDistributionDTO {
+
+  // null = toda la organización
+  private Long departmentId;
+
+  // Meses incluidos ("YYYY-MM"); null = sin límite
+  private String from;
+  private String to;
+
+  private long count;
+  private Double mean;
+  private Integer p50;
+  private Integer p90;
+  private Integer p99;
+  private List<Bin> histogram;
+
+  @Getter
+  @Setter
+  @AllArgsConstructor
+  @NoArgsConstructor
+  public static class Bin {
+
+    // Rango de score [from, to]
+    private int from;
+    private int to;
+    private long count;
+  }
+}
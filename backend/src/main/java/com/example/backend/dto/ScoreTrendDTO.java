@@ -0,0 +1,41 @@
+package com.example.backend.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ScoreTrendDTO {
+
+  private Long employeeId;
+  private String bucket;
+
+  // Periodos que promedia movingAverage
+  private int window;
+  private List<Point> points;
+
+  @Getter
+  @Setter
+  @AllArgsConstructor
+  @NoArgsConstructor
+  public static class Point {
+
+    // "2025-03" o "2025-Q1"; la serie no tiene huecos entre el primer y el último periodo
+    private String period;
+    private long count;
+
+    // null si el periodo no tiene reportes (count 0)
+    private Double mean;
+
+    // Media de los periodos con reportes dentro de la ventana; null si no hay ninguno
+    private Double movingAverage;
+
+    // null en el primer periodo o si este o el anterior no tienen reportes
+    private Double delta;
+  }
+}
@@ -0,0 +1,64 @@
+package com.example.backend.listener;
+
+import com.example.backend.dto.EmployeeDTO;
+import com.example.backend.models.Department;
+import com.example.backend.models.Employee;
+import com.example.backend.service.EmployeeReadModel;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Listener JPA de Employee y Department que mantiene EmployeeReadModel.
+ * Hibernate lo crea a través de Spring (SpringBeanContainer), por eso puede
+ * recibir dependencias. Los callbacks corren en el flush: se toma el snapshot
+ * ahí y se aplica después del commit, para que un rollback no deje rastro.
+ */
+@Component
+public class EmployeeReadModelListener {
+
+  private final EmployeeReadModel model;
+
+  public EmployeeReadModelListener(EmployeeReadModel model) {
+    this.model = model;
+  }
+
+  @PostPersist
+  @PostUpdate
+  public void saved(Object entity) {
+    if (entity instanceof Employee e) {
+      EmployeeDTO snapshot = EmployeeReadModel.profile(e);
+      afterCommit(() -> model.put(snapshot));
+    }
+  }
+
+  @PostRemove
+  public void removed(Object entity) {
+    if (entity instanceof Employee e) {
+      long id = e.getId();
+      afterCommit(() -> model.remove(id));
+    } else if (entity instanceof Department d) {
+      long id = d.getId();
+      afterCommit(() -> model.removeDepartment(id));
+    }
+  }
+
+  // También lo usa ReportRemovalListener
+  static void afterCommit(Runnable action) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            action.run();
+          }
+        }
+      );
+    } else {
+      action.run();
+    }
+  }
+}
@@ -0,0 +1,51 @@
+package com.example.backend.listener;
+
+import com.example.backend.models.PerformanceReport;
+import com.example.backend.service.DepartmentLeaderboard;
+import com.example.backend.service.ReportColumnStore;
+import com.example.backend.service.ReportSearchIndex;
+import com.example.backend.service.ScoreHistograms;
+import jakarta.persistence.PostRemove;
+import java.time.Instant;
+import org.springframework.stereotype.Component;
+
+/**
+ * Todo borrado de reportes que hace Hibernate, incluidos los de cascada al
+ * eliminar un empleado o un departamento (que no publican ReportChangedEvent).
+ * Se aplica tras el commit sobre las estructuras en memoria.
+ */
+@Component
+public class ReportRemovalListener {
+
+  private final ReportColumnStore columns;
+  private final DepartmentLeaderboard leaderboard;
+  private final ScoreHistograms histograms;
+  private final ReportSearchIndex search;
+
+  public ReportRemovalListener(
+    ReportColumnStore columns,
+    DepartmentLeaderboard leaderboard,
+    ScoreHistograms histograms,
+    ReportSearchIndex search
+  ) {
+    this.columns = columns;
+    this.leaderboard = leaderboard;
+    this.histograms = histograms;
+    this.search = search;
+  }
+
+  @PostRemove
+  public void removed(PerformanceReport report) {
+    long id = report.getId();
+    Long deptId = report.getDepartment() != null ? report.getDepartment().getId() : null;
+    Long empId = report.getEmployee().getId();
+    int score = report.getScore();
+    Instant createdAt = report.getCreatedAt();
+    EmployeeReadModelListener.afterCommit(() -> {
+      columns.remove(id);
+      leaderboard.onRemoved(deptId, empId, score);
+      histograms.add(deptId, createdAt, score, -1);
+      search.remove(id);
+    });
+  }
+}
@@ -0,0 +1,35 @@
+package com.example.backend.models;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Rollup por departamento, mantenido en la misma transacción que cada reporte
+@Entity
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+@Table(name="department_performance")
+public class DepartmentPerformance {
+    @Id
+    @Column(name="department_id")
+    private Long departmentId;
+
+    @Column(nullable=false)
+    private long reportCount;
+
+    @Column(nullable=false)
+    private long scoreSum;
+
+    private Integer minScore;
+
+    private Integer maxScore;
+
+    private Instant lastReportAt;
+}
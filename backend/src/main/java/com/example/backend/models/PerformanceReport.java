@@ -2,15 +2,20 @@ package com.example.backend.models;
 
 import java.time.Instant;
 
+import com.example.backend.listener.ReportRemovalListener;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -19,6 +24,9 @@ import lombok.Setter;
 
 @Entity
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+// Series por empleado (tendencia, "mis reportes") ordenadas por fecha
+@Table(indexes = @Index(name = "idx_report_employee_created", columnList = "employee_id, created_at"))
+@EntityListeners(ReportRemovalListener.class)
 public class PerformanceReport {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
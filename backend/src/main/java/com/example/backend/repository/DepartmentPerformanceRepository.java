@@ -0,0 +1,107 @@
+package com.example.backend.repository;
+
+import java.time.Instant;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.example.backend.models.DepartmentPerformance;
+
+// Todas las escrituras son sentencias atómicas en la BD (sin leer-modificar-escribir)
+public interface DepartmentPerformanceRepository extends JpaRepository<DepartmentPerformance, Long> {
+
+  @Modifying
+  @Query(nativeQuery = true, value = """
+    insert into department_performance
+      (department_id, report_count, score_sum, min_score, max_score, last_report_at)
+    values (:departmentId, 1, :score, :score, :score, :createdAt)
+    on conflict (department_id) do update set
+      report_count = department_performance.report_count + 1,
+      score_sum = department_performance.score_sum + excluded.score_sum,
+      min_score = least(department_performance.min_score, excluded.min_score),
+      max_score = greatest(department_performance.max_score, excluded.max_score),
+      last_report_at = greatest(department_performance.last_report_at, excluded.last_report_at)
+    """)
+  void recordAdded(
+    @Param("departmentId") Long departmentId,
+    @Param("score") int score,
+    @Param("createdAt") Instant createdAt
+  );
+
+  // Se ejecuta tras borrar el reporte: min/max/última fecha solo se
+  // recalculan si el reporte eliminado era el extremo
+  @Modifying
+  @Query(nativeQuery = true, value = """
+    update department_performance p set
+      report_count = p.report_count - 1,
+      score_sum = p.score_sum - :score,
+      min_score = case when :score <= p.min_score
+        then (select min(r.score) from performance_report r where r.department_id = p.department_id)
+        else p.min_score end,
+      max_score = case when :score >= p.max_score
+        then (select max(r.score) from performance_report r where r.department_id = p.department_id)
+        else p.max_score end,
+      last_report_at = case when :createdAt >= p.last_report_at
+        then (select max(r.created_at) from performance_report r where r.department_id = p.department_id)
+        else p.last_report_at end
+    where p.department_id = :departmentId
+    """)
+  void recordRemoved(
+    @Param("departmentId") Long departmentId,
+    @Param("score") int score,
+    @Param("createdAt") Instant createdAt
+  );
+
+  // Se ejecuta tras guardar el nuevo score
+  @Modifying
+  @Query(nativeQuery = true, value = """
+    update department_performance p set
+      score_sum = p.score_sum - :oldScore + :newScore,
+      min_score = case when :oldScore <= p.min_score
+        then (select min(r.score) from performance_report r where r.department_id = p.department_id)
+        else least(p.min_score, :newScore) end,
+      max_score = case when :oldScore >= p.max_score
+        then (select max(r.score) from performance_report r where r.department_id = p.department_id)
+        else greatest(p.max_score, :newScore) end
+    where p.department_id = :departmentId
+    """)
+  void recordScoreChanged(
+    @Param("departmentId") Long departmentId,
+    @Param("oldScore") int oldScore,
+    @Param("newScore") int newScore
+  );
+
+  // Reparación de un departamento a partir de sus reportes
+  @Modifying
+  @Query(nativeQuery = true, value = """
+    insert into department_performance
+      (department_id, report_count, score_sum, min_score, max_score, last_report_at)
+    select :departmentId, count(r.id), coalesce(sum(r.score), 0),
+      min(r.score), max(r.score), max(r.created_at)
+    from performance_report r where r.department_id = :departmentId
+    on conflict (department_id) do update set
+      report_count = excluded.report_count,
+      score_sum = excluded.score_sum,
+      min_score = excluded.min_score,
+      max_score = excluded.max_score,
+      last_report_at = excluded.last_report_at
+    """)
+  void rebuild(@Param("departmentId") Long departmentId);
+
+  @Modifying
+  @Query(nativeQuery = true, value = "delete from department_performance")
+  void clear();
+
+  @Modifying
+  @Query(nativeQuery = true, value = """
+    insert into department_performance
+      (department_id, report_count, score_sum, min_score, max_score, last_report_at)
+    select r.department_id, count(*), sum(r.score), min(r.score), max(r.score), max(r.created_at)
+    from performance_report r
+    where r.department_id is not null
+    group by r.department_id
+    """)
+  void rebuildAll();
+}
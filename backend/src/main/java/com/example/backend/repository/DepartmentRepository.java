@@ -1,11 +1,34 @@
 package com.example.backend.repository;
 
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import com.example.backend.dto.DepartmentStatsDTO;
 import com.example.backend.models.Department;
 
 @Repository
 public interface DepartmentRepository  extends  JpaRepository<Department, Long> {
 
+  List<Department> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+  // Una sola consulta agrupada; empleados por subconsulta para no multiplicar filas
+  @Query("""
+    select new com.example.backend.dto.DepartmentStatsDTO(
+      d.id,
+      d.name,
+      (select count(e) from Employee e where e.department = d),
+      count(r),
+      avg(r.score),
+      min(r.score),
+      max(r.score)
+    )
+    from Department d left join d.reports r
+    group by d.id, d.name
+    order by d.id
+    """)
+  List<DepartmentStatsDTO> stats();
 }
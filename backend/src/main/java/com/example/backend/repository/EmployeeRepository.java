@@ -1,12 +1,50 @@
 package com.example.backend.repository;
 
+import com.example.backend.entity.Role;
 import com.example.backend.models.Employee;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
   Optional<Employee> findByEmail(String email);
   Optional<Employee> findEntityById(Long id);
+
+  // Página keyset por id (el nombre del departamento sale de DepartmentCache)
+  List<Employee> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+  // Solo id + rol, para el snapshot de revocación de tokens
+  @Query("select e.id as id, e.role as role from Employee e")
+  List<RoleView> findAllRoles();
+
+  interface RoleView {
+    Long getId();
+    Role getRole();
+  }
+
+  // Resolución masiva (por id o email) para la carga bulk de reportes
+  @Query(
+    "select e.id as id, e.email as email, e.fullName as fullName, " +
+    "d.id as departmentId, d.name as departmentName " +
+    "from Employee e left join e.department d " +
+    "where e.id in :ids or e.email in :emails"
+  )
+  List<EmployeeRef> findRefs(
+    @Param("ids") Collection<Long> ids,
+    @Param("emails") Collection<String> emails
+  );
+
+  interface EmployeeRef {
+    Long getId();
+    String getEmail();
+    String getFullName();
+    Long getDepartmentId();
+    String getDepartmentName();
+  }
 }
@@ -1,12 +1,193 @@
 package com.example.backend.repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import jakarta.persistence.QueryHint;
+
+import com.example.backend.dto.ReportDTO;
 import com.example.backend.models.PerformanceReport;
 
 public interface PerformanceReportRepository extends JpaRepository<PerformanceReport, Long> {
 List<PerformanceReport> findByEmployee_Id(Long employeeId);
 List<PerformanceReport> findByDepartment_Id(Long departmentId);
-}
\ No newline at end of file
+
+@Query("select distinct r.department.id from PerformanceReport r where r.employee.id = :employeeId")
+List<Long> findDepartmentIdsByEmployee(@Param("employeeId") Long employeeId);
+
+// Proyecciones directas a ReportDTO: una sola sentencia, sin entidades ni lazy loading.
+// Keyset sobre (createdAt, id): la página arranca justo después del cursor
+@Query("""
+  select new com.example.backend.dto.ReportDTO(
+    r.id, r.title, r.description, r.score,
+    e.id, d.id, r.createdAt, e.fullName, d.name
+  )
+  from PerformanceReport r join r.employee e left join r.department d
+  where e.id = :employeeId
+    and (r.createdAt > :createdAt or (r.createdAt = :createdAt and r.id > :id))
+  order by r.createdAt, r.id
+  """)
+List<ReportDTO> findPageByEmployee(
+  @Param("employeeId") Long employeeId,
+  @Param("createdAt") Instant createdAt,
+  @Param("id") Long id,
+  Limit limit
+);
+
+@Query("""
+  select new com.example.backend.dto.ReportDTO(
+    r.id, r.title, r.description, r.score,
+    e.id, d.id, r.createdAt, e.fullName, d.name
+  )
+  from PerformanceReport r join r.employee e left join r.department d
+  where d.id = :departmentId
+    and (r.createdAt > :createdAt or (r.createdAt = :createdAt and r.id > :id))
+  order by r.createdAt, r.id
+  """)
+List<ReportDTO> findPageByDepartment(
+  @Param("departmentId") Long departmentId,
+  @Param("createdAt") Instant createdAt,
+  @Param("id") Long id,
+  Limit limit
+);
+
+// Export: cursor del driver con fetch size acotado; al ser proyecciones no quedan
+// entidades en el contexto de persistencia, la memoria no crece con las filas
+@QueryHints({
+  @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+  @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+})
+@Query("""
+  select new com.example.backend.dto.ReportDTO(
+    r.id, r.title, r.description, r.score,
+    e.id, d.id, r.createdAt, e.fullName, d.name
+  )
+  from PerformanceReport r join r.employee e left join r.department d
+  where d.id = :departmentId
+  order by r.createdAt, r.id
+  """)
+Stream<ReportDTO> streamByDepartment(@Param("departmentId") Long departmentId);
+
+// Carga completa para índices en memoria (mismo fetch size que el export)
+@QueryHints({
+  @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+  @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+})
+@Query("""
+  select new com.example.backend.dto.ReportDTO(
+    r.id, r.title, r.description, r.score,
+    e.id, d.id, r.createdAt, e.fullName, d.name
+  )
+  from PerformanceReport r join r.employee e left join r.department d
+  """)
+Stream<ReportDTO> streamAll();
+
+@Query("""
+  select new com.example.backend.dto.ReportDTO(
+    r.id, r.title, r.description, r.score,
+    e.id, d.id, r.createdAt, e.fullName, d.name
+  )
+  from PerformanceReport r join r.employee e left join r.department d
+  where r.id in :ids
+  """)
+List<ReportDTO> findDtosByIdIn(@Param("ids") Collection<Long> ids);
+
+// Candidatos a archivar: entidades (el borrado dispara @PostRemove) con empleado
+// ya cargado, de la más antigua a la más nueva para que cada segmento cubra un
+// tramo de fechas acotado
+@Query("""
+  select r from PerformanceReport r join fetch r.employee left join fetch r.department
+  where r.createdAt < :cutoff
+  order by r.createdAt, r.id
+  """)
+List<PerformanceReport> findArchivable(@Param("cutoff") Instant cutoff, Limit limit);
+
+// Serie temporal de un empleado: agrupa por mes/trimestre (UTC) y calcula media móvil
+// de 3 periodos y delta contra el anterior con funciones de ventana, todo en la BD.
+// generate_series rellena los periodos sin reportes (count 0, media null) entre el
+// primero y el último, así la ventana y el lag cuentan periodos de calendario
+interface TrendRow {
+  String getPeriod();
+  Long getReportCount();
+  Double getMeanScore();
+  Double getMovingAverage();
+  Double getDelta();
+}
+
+@Query(nativeQuery = true, value = """
+  with b as (
+    select date_trunc(:unit, r.created_at at time zone 'UTC') as bucket,
+           count(*) as report_count,
+           cast(avg(r.score) as double precision) as mean_score
+    from performance_report r
+    where r.employee_id = :employeeId
+    group by 1
+  ),
+  s as (
+    select g.bucket, coalesce(b.report_count, 0) as report_count, b.mean_score
+    from generate_series(
+      (select min(bucket) from b),
+      (select max(bucket) from b),
+      case when :unit = 'month' then interval '1 month' else interval '3 months' end
+    ) as g(bucket)
+    left join b on b.bucket = g.bucket
+  )
+  select
+    case when :unit = 'month' then to_char(s.bucket, 'YYYY-MM')
+         else to_char(s.bucket, 'YYYY-"Q"Q') end as period,
+    s.report_count as reportCount,
+    s.mean_score as meanScore,
+    avg(s.mean_score) over (order by s.bucket rows between 2 preceding and current row) as movingAverage,
+    s.mean_score - lag(s.mean_score) over (order by s.bucket) as delta
+  from s
+  order by s.bucket
+  """)
+List<TrendRow> trendByEmployee(@Param("employeeId") Long employeeId, @Param("unit") String unit);
+
+// Acumulados por (departamento, empleado) para cargar el ranking al arrancar
+interface LeaderboardRow {
+  Long getDepartmentId();
+  Long getEmployeeId();
+  Long getReportCount();
+  Long getScoreSum();
+}
+
+@Query("""
+  select r.department.id as departmentId, r.employee.id as employeeId,
+         count(r) as reportCount, sum(r.score) as scoreSum
+  from PerformanceReport r
+  where r.department is not null
+  group by r.department.id, r.employee.id
+  """)
+List<LeaderboardRow> leaderboardRows();
+
+// Conteos por (departamento, mes UTC, score) para cargar los histogramas al arrancar
+interface HistogramRow {
+  Long getDepartmentId();
+  // year/month son palabras reservadas en H2: alias con prefijo
+  Integer getReportYear();
+  Integer getReportMonth();
+  Integer getScore();
+  Long getReportCount();
+}
+
+@Query(nativeQuery = true, value = """
+  select r.department_id as departmentId,
+         cast(extract(year from r.created_at at time zone 'UTC') as integer) as reportYear,
+         cast(extract(month from r.created_at at time zone 'UTC') as integer) as reportMonth,
+         r.score as score,
+         count(*) as reportCount
+  from performance_report r
+  group by 1, 2, 3, 4
+  """)
+List<HistogramRow> histogramRows();
+}
@@ -1,11 +1,16 @@
 package com.example.backend.security;
 
+import com.example.backend.entity.Role;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -17,13 +22,19 @@ public class JwtAuthFilter
 
   private final JwtService jwtService;
   private final CustomUserDetailsService userDetailsService;
+  private final TokenRevocationRegistry revocations;
+  private final boolean stateless;
 
   public JwtAuthFilter(
     JwtService jwtService,
-    CustomUserDetailsService userDetailsService
+    CustomUserDetailsService userDetailsService,
+    TokenRevocationRegistry revocations,
+    @Value("${app.jwt.stateless:false}") boolean stateless
   ) {
     this.jwtService = jwtService;
     this.userDetailsService = userDetailsService;
+    this.revocations = revocations;
+    this.stateless = stateless;
   }
 
   @Override
@@ -38,6 +49,20 @@ public class JwtAuthFilter
       : null;
 
     if (
+      stateless &&
+      token != null &&
+      SecurityContextHolder.getContext().getAuthentication() == null
+    ) {
+      jwtService
+        .verify(token)
+        .map(this::fromClaims)
+        .ifPresent(auth -> {
+          auth.setDetails(
+            new WebAuthenticationDetailsSource().buildDetails(request)
+          );
+          SecurityContextHolder.getContext().setAuthentication(auth);
+        });
+    } else if (
       token != null &&
       jwtService.isValid(token) &&
       SecurityContextHolder.getContext().getAuthentication() == null
@@ -58,4 +83,26 @@ public class JwtAuthFilter
 
     chain.doFilter(request, response);
   }
+
+  // Modo stateless: el Authentication sale de los claims ya verificados
+  private UsernamePasswordAuthenticationToken fromClaims(Claims claims) {
+    Object id = claims.get("id");
+    String role = claims.get("role", String.class);
+    if (!(id instanceof Number) || role == null) return null;
+
+    var principal = new JwtPrincipal(
+      ((Number) id).longValue(),
+      claims.getSubject(),
+      Role.valueOf(role)
+    );
+    // Rol cambiado o empleado eliminado -> el token ya no vale
+    if (!revocations.isCurrent(principal.getId(), principal.getRole())) {
+      return null;
+    }
+    return new UsernamePasswordAuthenticationToken(
+      principal,
+      null,
+      List.of(new SimpleGrantedAuthority("ROLE_" + role))
+    );
+  }
 }
@@ -0,0 +1,27 @@
+package com.example.backend.security;
+
+import com.example.backend.entity.Role;
+import java.security.Principal;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Principal construido solo con los claims del token (sin ir a la BD)
+@Getter
+@AllArgsConstructor
+public class JwtPrincipal implements Principal {
+
+  private final Long id;
+  private final String email;
+  private final Role role;
+
+  // auth.getName() sigue devolviendo el email, igual que con UserDetails
+  @Override
+  public String getName() {
+    return email;
+  }
+
+  @Override
+  public String toString() {
+    return email;
+  }
+}
@@ -2,13 +2,16 @@ package com.example.backend.security;
 
 import com.example.backend.models.Employee;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.security.Key; // <— importa tu modelo
 import java.util.Date;
+import java.util.Optional;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -17,13 +20,24 @@ public class JwtService {
 
   private final Key key;
   private final long expirationMs;
+  // El parser de jjwt es inmutable y thread-safe: se construye una vez
+  private final JwtParser parser;
+  private final VerifiedTokenCache cache;
+  private final Timer verifyTimer;
 
   public JwtService(
     @Value("${app.jwt.secret}") String secret,
-    @Value("${app.jwt.expiration-ms}") long expirationMs
+    @Value("${app.jwt.expiration-ms}") long expirationMs,
+    @Value("${app.jwt.cache-size:10000}") int cacheSize,
+    MeterRegistry registry
   ) {
     this.key = Keys.hmacShaKeyFor(secret.getBytes());
     this.expirationMs = expirationMs;
+    this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+    this.cache = new VerifiedTokenCache(cacheSize);
+    this.verifyTimer = Timer.builder("jwt.verify")
+      .description("Verificación de firma y parseo de claims (sin cache)")
+      .register(registry);
   }
 
   // 🔹 NUEVO: genera desde Employee para incluir id, role y name
@@ -44,26 +58,46 @@ public class JwtService {
 
   // (Si quieres mantener helpers)
   public String extractUsername(String token) {
-    return parse(token).getBody().getSubject();
+    return parse(token).getSubject();
   }
 
   public String extractRole(String token) {
-    return parse(token).getBody().get("role", String.class);
+    return parse(token).get("role", String.class);
   }
 
-  public boolean isValid(String token) {
+  // Verifica firma y expiración una sola vez y devuelve los claims
+  public Optional<Claims> verify(String token) {
     try {
-      parse(token);
-      return true;
-    } catch (JwtException e) {
-      return false;
+      return Optional.of(parse(token));
+    } catch (JwtException | IllegalArgumentException e) {
+      return Optional.empty();
     }
   }
 
-  private Jws<Claims> parse(String token) {
-    return Jwts.parserBuilder()
-      .setSigningKey(key)
-      .build()
-      .parseClaimsJws(token);
+  public boolean isValid(String token) {
+    return verify(token).isPresent();
+  }
+
+  public long cacheHits() {
+    return cache.hits();
+  }
+
+  public long cacheMisses() {
+    return cache.misses();
+  }
+
+  public int cacheSize() {
+    return cache.size();
+  }
+
+  private Claims parse(String token) {
+    Claims cached = cache.get(token);
+    if (cached != null) return cached;
+
+    Claims claims = verifyTimer.record(() ->
+      parser.parseClaimsJws(token).getBody()
+    );
+    cache.put(token, claims);
+    return claims;
   }
 }
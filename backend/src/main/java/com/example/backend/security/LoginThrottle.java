@@ -0,0 +1,88 @@
+package com.example.backend.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Token bucket por IP y por email para /auth/login. Los intentos se frenan
+ * antes de llegar a BCrypt. El límite por IP es mucho más alto que el de email:
+ * detrás de un proxy o de un NAT de oficina muchos usuarios comparten IP.
+ */
+@Component
+public class LoginThrottle {
+
+  private static final class Bucket {
+
+    private final double capacity;
+    private final double perSecond;
+    private double tokens;
+    private long lastRefillNanos;
+
+    Bucket(double capacity, double perSecond) {
+      this.capacity = capacity;
+      this.perSecond = perSecond;
+      this.tokens = capacity;
+      this.lastRefillNanos = System.nanoTime();
+    }
+
+    // 0 si se consume un token; si no, segundos hasta el siguiente
+    synchronized long tryConsume() {
+      refill();
+      if (tokens >= 1) {
+        tokens -= 1;
+        return 0;
+      }
+      return (long) Math.ceil((1 - tokens) / perSecond);
+    }
+
+    synchronized boolean isFull() {
+      refill();
+      return tokens >= capacity;
+    }
+
+    private void refill() {
+      long now = System.nanoTime();
+      tokens = Math.min(capacity, tokens + (now - lastRefillNanos) / 1e9 * perSecond);
+      lastRefillNanos = now;
+    }
+  }
+
+  private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+  private final double emailCapacity;
+  private final double emailPerSecond;
+  private final double ipCapacity;
+  private final double ipPerSecond;
+
+  public LoginThrottle(
+    @Value("${app.security.login-throttle.capacity:10}") int capacity,
+    @Value("${app.security.login-throttle.refill-per-minute:10}") int refillPerMinute,
+    @Value("${app.security.login-throttle.ip-capacity:200}") int ipCapacity,
+    @Value("${app.security.login-throttle.ip-refill-per-minute:200}") int ipRefillPerMinute
+  ) {
+    this.emailCapacity = capacity;
+    this.emailPerSecond = refillPerMinute / 60.0;
+    this.ipCapacity = ipCapacity;
+    this.ipPerSecond = ipRefillPerMinute / 60.0;
+  }
+
+  /** 0 si el intento puede seguir; si no, segundos para el Retry-After. */
+  public long tryAcquire(String ip, String email) {
+    long wait = bucket("ip:" + ip, ipCapacity, ipPerSecond).tryConsume();
+    if (wait > 0) return wait;
+    String key = email != null ? email.toLowerCase() : "";
+    return bucket("email:" + key, emailCapacity, emailPerSecond).tryConsume();
+  }
+
+  // Los buckets llenos equivalen a no tener bucket: se descartan
+  @Scheduled(fixedDelay = 60000)
+  public void evictIdle() {
+    buckets.values().removeIf(Bucket::isFull);
+  }
+
+  private Bucket bucket(String key, double capacity, double perSecond) {
+    return buckets.computeIfAbsent(key, k -> new Bucket(capacity, perSecond));
+  }
+}
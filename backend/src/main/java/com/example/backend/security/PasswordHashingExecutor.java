@@ -0,0 +1,87 @@
+package com.example.backend.security;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pool dedicado y acotado para BCrypt (login y registro). Así una ráfaga de
+ * logins no ocupa todos los núcleos: si el pool y su cola están llenos la
+ * tarea se rechaza enseguida y el controlador responde 503 con Retry-After.
+ */
+@Component
+public class PasswordHashingExecutor implements DisposableBean {
+
+  private final ThreadPoolExecutor pool;
+  private final MeterRegistry registry;
+
+  public PasswordHashingExecutor(
+    @Value("${app.security.hashing.threads:0}") int threads,
+    @Value("${app.security.hashing.queue-capacity:64}") int queueCapacity,
+    MeterRegistry registry
+  ) {
+    // 0 = la mitad de los núcleos, para dejar CPU al resto de la API
+    int size = threads > 0
+      ? threads
+      : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    AtomicInteger seq = new AtomicInteger();
+    this.pool = new ThreadPoolExecutor(
+      size,
+      size,
+      0L,
+      TimeUnit.MILLISECONDS,
+      new ArrayBlockingQueue<>(queueCapacity),
+      r -> {
+        Thread t = new Thread(r, "bcrypt-" + seq.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+      },
+      new ThreadPoolExecutor.AbortPolicy()
+    );
+    this.registry = registry;
+
+    Gauge.builder("auth.hashing.queue", pool, p -> p.getQueue().size())
+      .description("Tareas BCrypt en espera")
+      .register(registry);
+    Gauge.builder("auth.hashing.active", pool, ThreadPoolExecutor::getActiveCount)
+      .register(registry);
+  }
+
+  /**
+   * Ejecuta {@code work} en el pool y espera el resultado.
+   *
+   * @throws RejectedExecutionException si el pool está saturado
+   */
+  public <T> T run(String operation, Supplier<T> work) {
+    Timer timer = Timer.builder("auth.hashing.duration")
+      .tag("operation", operation)
+      .register(registry);
+    Future<T> future = pool.submit(() -> timer.record(work));
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrumpido esperando BCrypt", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException re) throw re;
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  @Override
+  public void destroy() {
+    pool.shutdownNow();
+  }
+}
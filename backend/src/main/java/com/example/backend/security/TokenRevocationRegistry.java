@@ -0,0 +1,77 @@
+package com.example.backend.security;
+
+import com.example.backend.entity.Role;
+import com.example.backend.repository.EmployeeRepository;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Snapshot en memoria de id -> rol actual de cada empleado.
+ * Se refresca en segundo plano, así que un cambio de rol o un borrado
+ * invalida los tokens viejos como máximo en {@code app.jwt.revocation-refresh-ms}.
+ */
+@Component
+public class TokenRevocationRegistry {
+
+  private final EmployeeRepository repo;
+  private final boolean enabled;
+
+  // Se reemplaza entero en cada refresco
+  private volatile Map<Long, Role> roles = new ConcurrentHashMap<>();
+  // Ids que no existen (tokens de empleados borrados): no se consultan otra vez
+  // hasta el siguiente refresco
+  private volatile Set<Long> missing = ConcurrentHashMap.newKeySet();
+
+  public TokenRevocationRegistry(
+    EmployeeRepository repo,
+    @Value("${app.jwt.stateless:false}") boolean enabled
+  ) {
+    this.repo = repo;
+    this.enabled = enabled;
+  }
+
+  @Scheduled(
+    initialDelay = 0,
+    fixedDelayString = "${app.jwt.revocation-refresh-ms:30000}"
+  )
+  public void refresh() {
+    if (!enabled) return;
+    Map<Long, Role> next = new ConcurrentHashMap<>();
+    for (var row : repo.findAllRoles()) {
+      next.put(row.getId(), row.getRole());
+    }
+    roles = next;
+    missing = ConcurrentHashMap.newKeySet();
+  }
+
+  /** true si el empleado sigue existiendo y conserva el rol del token. */
+  public boolean isCurrent(Long employeeId, Role tokenRole) {
+    Role current = roles.get(employeeId);
+    if (current == null) {
+      if (missing.contains(employeeId)) return false;
+      // Empleado nuevo (aún no en el snapshot) o borrado: se consulta una vez
+      current = repo.findById(employeeId).map(e -> e.getRole()).orElse(null);
+      if (current == null) {
+        missing.add(employeeId);
+        return false;
+      }
+      remember(employeeId, current);
+    }
+    return current == tokenRole;
+  }
+
+  // Aplica un cambio inmediato sin esperar al siguiente refresco
+  public void remember(Long employeeId, Role role) {
+    missing.remove(employeeId);
+    roles.put(employeeId, role);
+  }
+
+  public void revoke(Long employeeId) {
+    missing.add(employeeId);
+    roles.remove(employeeId);
+  }
+}
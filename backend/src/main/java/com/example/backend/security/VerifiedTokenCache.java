@@ -0,0 +1,90 @@
+package com.example.backend.security;
+
+import io.jsonwebtoken.Claims;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache acotada de claims ya verificados, indexada por SHA-256 del token.
+ * Una entrada nunca sobrevive al {@code exp} de su token: los expirados se
+ * descartan al leerlos y, si la cache se llena, sale el menos usado (LRU),
+ * así insertar es O(1) aunque haya mucha rotación de tokens.
+ */
+public class VerifiedTokenCache {
+
+  private record Entry(Claims claims, long expiresAtMs) {}
+
+  // Orden de acceso: el primero es el menos usado. Se accede bajo synchronized
+  private final Map<String, Entry> entries;
+  private final int maxSize;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  public VerifiedTokenCache(int maxSize) {
+    this.maxSize = maxSize;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+        return size() > VerifiedTokenCache.this.maxSize;
+      }
+    };
+  }
+
+  public Claims get(String token) {
+    if (maxSize <= 0) return null;
+    String key = digest(token); // fuera del lock
+    Entry e;
+    synchronized (entries) {
+      e = entries.get(key);
+      if (e != null && e.expiresAtMs() <= System.currentTimeMillis()) {
+        entries.remove(key);
+        e = null;
+      }
+    }
+    if (e == null) {
+      misses.increment();
+      return null;
+    }
+    hits.increment();
+    return e.claims();
+  }
+
+  public void put(String token, Claims claims) {
+    if (maxSize <= 0 || claims.getExpiration() == null) return;
+    String key = digest(token);
+    Entry e = new Entry(claims, claims.getExpiration().getTime());
+    synchronized (entries) {
+      entries.put(key, e);
+    }
+  }
+
+  public long hits() {
+    return hits.sum();
+  }
+
+  public long misses() {
+    return misses.sum();
+  }
+
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  private static String digest(String token) {
+    try {
+      byte[] hash = MessageDigest.getInstance("SHA-256").digest(
+        token.getBytes(StandardCharsets.UTF_8)
+      );
+      return Base64.getEncoder().withoutPadding().encodeToString(hash);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,119 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.DepartmentDTO;
+import com.example.backend.models.Department;
+import com.example.backend.repository.DepartmentRepository;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Cache local y acotada de departamentos por id. Los departamentos casi
+ * no cambian: DepartmentService invalida la entrada en cada escritura
+ * (tras el commit si hay transacción activa).
+ */
+@Component
+public class DepartmentCache {
+
+  // Snapshot inmutable; nunca se expone la instancia cacheada
+  private record Entry(Long id, String name, String description, String createdAt) {}
+
+  private final DepartmentRepository repo;
+  private final int maxSize;
+  private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  public DepartmentCache(
+    DepartmentRepository repo,
+    @Value("${app.cache.departments.max-size:1000}") int maxSize
+  ) {
+    this.repo = repo;
+    this.maxSize = maxSize;
+  }
+
+  public Optional<DepartmentDTO> find(Long id) {
+    if (id == null) return Optional.empty();
+    Entry e = entries.get(id);
+    if (e != null) {
+      hits.increment();
+      return Optional.of(toDto(e));
+    }
+    misses.increment();
+    Optional<Entry> loaded = repo.findById(id).map(this::toEntry);
+    loaded.ifPresent(this::put);
+    return loaded.map(this::toDto);
+  }
+
+  public String name(Long id) {
+    return find(id).map(DepartmentDTO::getName).orElse(null);
+  }
+
+  public void evict(Long id) {
+    entries.remove(id);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      // Evita que una lectura concurrente vuelva a cachear el valor previo al commit
+      TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCompletion(int status) {
+            entries.remove(id);
+          }
+        }
+      );
+    }
+  }
+
+  public long hits() {
+    return hits.sum();
+  }
+
+  public long misses() {
+    return misses.sum();
+  }
+
+  public double hitRate() {
+    long h = hits.sum();
+    long total = h + misses.sum();
+    return total == 0 ? 0 : (double) h / total;
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  private void put(Entry e) {
+    if (entries.size() >= maxSize) {
+      Iterator<Long> it = entries.keySet().iterator();
+      if (it.hasNext()) {
+        it.next();
+        it.remove();
+      }
+    }
+    entries.put(e.id(), e);
+  }
+
+  private Entry toEntry(Department d) {
+    return new Entry(
+      d.getId(),
+      d.getName(),
+      d.getDescription(),
+      d.getCreatedAt() != null ? d.getCreatedAt().toString() : null
+    );
+  }
+
+  private DepartmentDTO toDto(Entry e) {
+    return DepartmentDTO.builder()
+      .id(e.id())
+      .name(e.name())
+      .description(e.description())
+      .createdAt(e.createdAt())
+      .build();
+  }
+}
@@ -0,0 +1,118 @@
+package com.example.backend.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ranking por departamento del score medio de cada empleado.
+ *
+ * Cada departamento tiene un ConcurrentSkipListSet ordenado por media
+ * (desc) + acumulados por empleado. Los escritores de un mismo departamento
+ * se serializan entre sí; los lectores recorren el skip list sin locks y
+ * nunca bloquean ni esperan a un escritor.
+ *
+ * Sin dependencias de JPA: lo usa un entity listener (ReportRemovalListener)
+ * que Hibernate crea al arrancar.
+ */
+@Component
+public class DepartmentLeaderboard {
+
+  public record Entry(long employeeId, double average, long reportCount) {}
+
+  private record Stats(long count, long sum) {
+    double average() {
+      return (double) sum / count;
+    }
+  }
+
+  private record Rank(double average, long employeeId) {}
+
+  private static final Comparator<Rank> ORDER = Comparator
+    .comparingDouble(Rank::average)
+    .reversed()
+    .thenComparingLong(Rank::employeeId);
+
+  private static final class Board {
+
+    final ConcurrentSkipListSet<Rank> ranking = new ConcurrentSkipListSet<>(ORDER);
+    final Map<Long, Stats> stats = new ConcurrentHashMap<>();
+
+    // Primero entra la posición nueva y luego sale la vieja: un lector nunca ve al empleado ausente
+    synchronized void apply(long employeeId, long deltaCount, long deltaSum) {
+      Stats old = stats.get(employeeId);
+      long count = (old != null ? old.count() : 0) + deltaCount;
+      long sum = (old != null ? old.sum() : 0) + deltaSum;
+
+      Rank oldRank = old != null ? new Rank(old.average(), employeeId) : null;
+      Rank newRank = null;
+      if (count > 0) {
+        Stats updated = new Stats(count, sum);
+        newRank = new Rank(updated.average(), employeeId);
+        stats.put(employeeId, updated);
+        ranking.add(newRank);
+      } else {
+        stats.remove(employeeId);
+      }
+      if (oldRank != null && !oldRank.equals(newRank)) ranking.remove(oldRank);
+    }
+
+    List<Entry> top(int k) {
+      List<Entry> out = new ArrayList<>(k);
+      Set<Long> seen = new HashSet<>();
+      for (Rank r : ranking) {
+        if (out.size() >= k) break;
+        // Durante un cambio el empleado puede aparecer dos veces: vale la posición vigente
+        Stats s = stats.get(r.employeeId());
+        if (s == null || s.average() != r.average() || !seen.add(r.employeeId())) continue;
+        out.add(new Entry(r.employeeId(), r.average(), s.count()));
+      }
+      return out;
+    }
+  }
+
+  private final Map<Long, Board> boards = new ConcurrentHashMap<>();
+
+  public List<Entry> top(long departmentId, int k) {
+    Board board = boards.get(departmentId);
+    return board != null ? board.top(k) : List.of();
+  }
+
+  public void onCreated(Long departmentId, Long employeeId, int score) {
+    apply(departmentId, employeeId, 1, score);
+  }
+
+  public void onScoreChanged(Long departmentId, Long employeeId, int oldScore, int newScore) {
+    if (oldScore != newScore) apply(departmentId, employeeId, 0, newScore - oldScore);
+  }
+
+  public void onRemoved(Long departmentId, Long employeeId, int score) {
+    apply(departmentId, employeeId, -1, -score);
+  }
+
+  // Carga inicial: acumulados ya agregados por la BD
+  public void load(Long departmentId, Long employeeId, long count, long sum) {
+    apply(departmentId, employeeId, count, sum);
+  }
+
+  public void clear() {
+    boards.clear();
+  }
+
+  public int departments() {
+    return boards.size();
+  }
+
+  private void apply(Long departmentId, Long employeeId, long deltaCount, long deltaSum) {
+    if (departmentId == null || employeeId == null) return;
+    boards
+      .computeIfAbsent(departmentId, id -> new Board())
+      .apply(employeeId, deltaCount, deltaSum);
+  }
+}
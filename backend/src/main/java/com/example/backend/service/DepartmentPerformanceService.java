@@ -0,0 +1,90 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.DepartmentPerformanceDTO;
+import com.example.backend.models.DepartmentPerformance;
+import com.example.backend.repository.DepartmentPerformanceRepository;
+import java.time.Instant;
+import java.util.Collection;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Rollup por departamento (conteo, suma, min/max, último reporte).
+ * Los métodos on* deben llamarse dentro de la transacción que modifica el
+ * reporte, así el rollup nunca queda desfasado respecto a la tabla.
+ */
+@Service
+public class DepartmentPerformanceService {
+
+  private final DepartmentPerformanceRepository repo;
+
+  public DepartmentPerformanceService(DepartmentPerformanceRepository repo) {
+    this.repo = repo;
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void onCreated(Long deptId, int score, Instant createdAt) {
+    if (deptId == null) return;
+    repo.recordAdded(deptId, score, createdAt);
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void onRemoved(Long deptId, int score, Instant createdAt) {
+    if (deptId == null) return;
+    repo.recordRemoved(deptId, score, createdAt);
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void onScoreChanged(Long deptId, int oldScore, int newScore) {
+    if (deptId == null || oldScore == newScore) return;
+    repo.recordScoreChanged(deptId, oldScore, newScore);
+  }
+
+  // Para escrituras que no pasan por ReportService (bulk, cascadas)
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void rebuild(Collection<Long> deptIds) {
+    for (Long id : deptIds) {
+      if (id != null) repo.rebuild(id);
+    }
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void forget(Long deptId) {
+    repo.deleteById(deptId);
+  }
+
+  // Repara cualquier desfase recalculando todo desde performance_report
+  @Transactional
+  public void rebuildAll() {
+    repo.clear();
+    repo.rebuildAll();
+  }
+
+  @Transactional(readOnly = true)
+  public DepartmentPerformanceDTO get(Long deptId) {
+    return repo
+      .findById(deptId)
+      .map(this::toDto)
+      .orElseGet(() ->
+        DepartmentPerformanceDTO.builder().departmentId(deptId).build()
+      );
+  }
+
+  private DepartmentPerformanceDTO toDto(DepartmentPerformance p) {
+    return DepartmentPerformanceDTO.builder()
+      .departmentId(p.getDepartmentId())
+      .reportCount(p.getReportCount())
+      .avgScore(
+        p.getReportCount() > 0
+          ? (double) p.getScoreSum() / p.getReportCount()
+          : null
+      )
+      .minScore(p.getMinScore())
+      .maxScore(p.getMaxScore())
+      .lastReportAt(
+        p.getLastReportAt() != null ? p.getLastReportAt().toString() : null
+      )
+      .build();
+  }
+}
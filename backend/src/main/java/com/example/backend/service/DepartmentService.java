@@ -1,28 +1,53 @@
 package com.example.backend.service;
 
+import com.example.backend.dto.CursorPage;
 import com.example.backend.dto.DepartmentDTO;
 import com.example.backend.dto.DepartmentStatsDTO;
 import com.example.backend.models.Department;
 import com.example.backend.repository.DepartmentRepository;
+import com.example.backend.service.TableVersions.Table;
 import java.util.List;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class DepartmentService {
 
   private final DepartmentRepository repo;
+  private final Pagination pagination;
+  private final DepartmentPerformanceService rollups;
+  private final DepartmentCache cache;
+  private final TableVersions versions;
 
-  public DepartmentService(DepartmentRepository repo) {
+  public DepartmentService(
+    DepartmentRepository repo,
+    Pagination pagination,
+    DepartmentPerformanceService rollups,
+    DepartmentCache cache,
+    TableVersions versions
+  ) {
     this.repo = repo;
+    this.pagination = pagination;
+    this.rollups = rollups;
+    this.cache = cache;
+    this.versions = versions;
   }
 
   public DepartmentDTO create(Department d) {
     Department saved = repo.save(d);
+    cache.evict(saved.getId());
+    versions.bump(Table.DEPARTMENTS);
     return toDto(saved);
   }
 
-  public List<DepartmentDTO> all() {
-    return repo.findAll().stream().map(this::toDto).toList();
+  // Página keyset ordenada por id
+  public CursorPage<DepartmentDTO> page(String cursor, Integer size) {
+    int n = pagination.size(cursor, size);
+    List<Department> rows = repo.findByIdGreaterThanOrderByIdAsc(
+      KeysetCursor.parse(cursor).id(),
+      pagination.probe(n)
+    );
+    return pagination.page(rows, n, this::toDto, d -> KeysetCursor.of(d.getId()));
   }
 
   public DepartmentDTO update(Long id, Department d) {
@@ -30,11 +55,18 @@ public class DepartmentService {
     dept.setName(d.getName());
     dept.setDescription(d.getDescription());
     Department updated = repo.save(dept);
+    cache.evict(id);
+    versions.bump(Table.DEPARTMENTS);
     return toDto(updated);
   }
 
+  @Transactional
   public void delete(Long id) {
     repo.deleteById(id);
+    rollups.forget(id);
+    cache.evict(id);
+    // En cascada se van sus empleados y reportes
+    versions.bump(Table.DEPARTMENTS, Table.EMPLOYEES, Table.REPORTS);
   }
 
   private DepartmentDTO toDto(Department d) {
@@ -47,16 +79,6 @@ public class DepartmentService {
   }
 
   public List<DepartmentStatsDTO> stats() {
-    return repo
-      .findAll()
-      .stream()
-      .map(d ->
-        new DepartmentStatsDTO(
-          d.getId(),
-          d.getName(),
-          d.getEmployees() != null ? d.getEmployees().size() : 0
-        )
-      )
-      .toList();
+    return repo.stats();
   }
 }
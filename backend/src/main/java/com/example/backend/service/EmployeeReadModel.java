@@ -0,0 +1,348 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.EmployeeDTO;
+import com.example.backend.models.Employee;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Modelo de lectura de perfiles para GET /employees/{id}: cada EmployeeDTO
+ * se guarda serializado en buffers directos (fuera del heap), indexado por
+ * id primitivo, más un índice email → id para el chequeo de dueño.
+ *
+ * El nombre del departamento no se guarda: se resuelve con DepartmentCache
+ * al leer, así un cambio de nombre no obliga a reescribir registros.
+ * Lo mantiene al día EmployeeReadModelListener (tras el commit).
+ */
+@Component
+public class EmployeeReadModel {
+
+  private static final long NONE = Long.MIN_VALUE;
+  // Posición dentro del registro: [int len][long id][long deptId][long hireDate][strings]
+  private static final int DEPT_OFFSET = Integer.BYTES + Long.BYTES;
+
+  private final int chunkBytes;
+  private final long maxBytes;
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+  // ubicación = (índice de chunk << 32) | offset
+  private final LongLongMap locations = new LongLongMap(1024, NONE);
+  private final Map<String, Long> idsByEmail = new HashMap<>();
+  private List<ByteBuffer> chunks = new ArrayList<>();
+  private long liveBytes;
+  private long writeSeq;
+
+  public EmployeeReadModel(
+    @Value("${app.read-model.employees.chunk-bytes:1048576}") int chunkBytes,
+    @Value("${app.read-model.employees.max-bytes:67108864}") long maxBytes
+  ) {
+    this.chunkBytes = chunkBytes;
+    this.maxBytes = maxBytes;
+  }
+
+  /** DTO sin departmentName (lo completa quien llama). */
+  public Optional<EmployeeDTO> get(long id) {
+    lock.readLock().lock();
+    try {
+      long loc = locations.get(id);
+      return loc == NONE ? Optional.empty() : Optional.of(decode(loc));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  // null si el email no está en el modelo: hay que comparar contra el DTO
+  public Boolean ownedBy(long id, String email) {
+    lock.readLock().lock();
+    try {
+      Long own = idsByEmail.get(email);
+      return own != null ? own == id : null;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Contador de escrituras. Quien carga desde la BD lo lee antes de la
+   * consulta y se lo pasa a {@link #fill}: si hubo una escritura en medio,
+   * el valor leído puede ser viejo y no se guarda.
+   */
+  public long writeSeq() {
+    lock.readLock().lock();
+    try {
+      return writeSeq;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public void fill(EmployeeDTO dto, long seenSeq) {
+    lock.writeLock().lock();
+    try {
+      if (dto.getId() == null || seenSeq != writeSeq) return;
+      if (locations.get(dto.getId()) == NONE) store(dto);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public void put(EmployeeDTO dto) {
+    lock.writeLock().lock();
+    try {
+      writeSeq++;
+      discard(dto.getId());
+      store(dto);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public void remove(long id) {
+    lock.writeLock().lock();
+    try {
+      writeSeq++;
+      discard(id);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  // Sus empleados se borraron en cascada
+  public void removeDepartment(long departmentId) {
+    lock.writeLock().lock();
+    try {
+      writeSeq++;
+      List<Long> ids = new ArrayList<>();
+      locations.forEach((id, loc) -> {
+        if (chunk(loc).getLong(offset(loc) + DEPT_OFFSET) == departmentId) ids.add(id);
+      });
+      ids.forEach(this::discard);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public void clear() {
+    lock.writeLock().lock();
+    try {
+      writeSeq++;
+      reset();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return locations.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public long liveBytes() {
+    lock.readLock().lock();
+    try {
+      return liveBytes;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public long offHeapBytes() {
+    lock.readLock().lock();
+    try {
+      return (long) chunks.size() * chunkBytes;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  // Sin departmentName: se resuelve al leer con DepartmentCache
+  public static EmployeeDTO profile(Employee e) {
+    return EmployeeDTO.builder()
+      .id(e.getId())
+      .fullName(e.getFullName())
+      .email(e.getEmail())
+      .role(e.getRole() != null ? e.getRole().name() : null)
+      .hireDate(e.getHireDate())
+      .departmentId(e.getDepartment() != null ? e.getDepartment().getId() : null)
+      .build();
+  }
+
+  // ---- bajo write lock ----
+
+  private void store(EmployeeDTO dto) {
+    if (dto.getId() == null || dto.getId() <= 0) return;
+    byte[] record = encode(dto);
+    long loc = append(record);
+    if (loc == NONE) return; // no entra: se sirve desde la BD
+    locations.put(dto.getId(), loc);
+    if (dto.getEmail() != null) idsByEmail.put(dto.getEmail(), dto.getId());
+    liveBytes += record.length;
+  }
+
+  private void discard(long id) {
+    long loc = locations.remove(id);
+    if (loc == NONE) return;
+    ByteBuffer chunk = chunk(loc);
+    int len = chunk.getInt(offset(loc));
+    EmployeeDTO old = decode(loc);
+    if (old.getEmail() != null) idsByEmail.remove(old.getEmail(), id);
+    liveBytes -= Integer.BYTES + len;
+  }
+
+  private long append(byte[] record) {
+    if (record.length > chunkBytes) return NONE;
+    ByteBuffer tail = chunks.isEmpty() ? null : chunks.get(chunks.size() - 1);
+    if (tail == null || tail.remaining() < record.length) {
+      if (!canGrow()) {
+        // Solo compensa compactar si hay al menos un chunk de basura
+        if (usedBytes() - liveBytes < chunkBytes) return NONE;
+        compact();
+        tail = chunks.get(chunks.size() - 1);
+      }
+      if (tail == null || tail.remaining() < record.length) {
+        if (!canGrow()) return NONE;
+        tail = newChunk();
+      }
+    }
+    long loc = ((long) (chunks.size() - 1) << 32) | tail.position();
+    tail.put(record);
+    return loc;
+  }
+
+  /**
+   * Copia los registros vivos a chunks nuevos; los viejos los libera el GC.
+   * Si ni así entra (fragmentación), se vacía el modelo y se rellena por demanda.
+   */
+  private void compact() {
+    List<ByteBuffer> old = chunks;
+    chunks = new ArrayList<>();
+    newChunk();
+    boolean[] overflow = { false };
+    locations.replaceAll((id, loc) -> {
+      if (overflow[0]) return loc;
+      ByteBuffer from = old.get((int) (loc >>> 32));
+      int off = offset(loc);
+      byte[] record = new byte[Integer.BYTES + from.getInt(off)];
+      from.get(off, record);
+      ByteBuffer tail = chunks.get(chunks.size() - 1);
+      if (tail.remaining() < record.length) {
+        if (!canGrow()) {
+          overflow[0] = true;
+          return loc;
+        }
+        tail = newChunk();
+      }
+      long moved = ((long) (chunks.size() - 1) << 32) | tail.position();
+      tail.put(record);
+      return moved;
+    });
+    if (overflow[0]) {
+      reset();
+      newChunk();
+    }
+  }
+
+  private boolean canGrow() {
+    return (long) (chunks.size() + 1) * chunkBytes <= maxBytes;
+  }
+
+  private long usedBytes() {
+    long used = 0;
+    for (ByteBuffer c : chunks) used += c.position();
+    return used;
+  }
+
+  private void reset() {
+    locations.clear();
+    idsByEmail.clear();
+    chunks = new ArrayList<>();
+    liveBytes = 0;
+  }
+
+  private ByteBuffer newChunk() {
+    ByteBuffer chunk = ByteBuffer.allocateDirect(chunkBytes);
+    chunks.add(chunk);
+    return chunk;
+  }
+
+  // ---- codificación ----
+
+  private static byte[] encode(EmployeeDTO dto) {
+    byte[] name = utf8(dto.getFullName());
+    byte[] email = utf8(dto.getEmail());
+    byte[] role = utf8(dto.getRole());
+    int payload = 3 * Long.BYTES + 3 * Integer.BYTES + len(name) + len(email) + len(role);
+
+    ByteBuffer buf = ByteBuffer.allocate(Integer.BYTES + payload);
+    buf.putInt(payload);
+    buf.putLong(dto.getId());
+    buf.putLong(dto.getDepartmentId() != null ? dto.getDepartmentId() : NONE);
+    buf.putLong(dto.getHireDate() != null ? dto.getHireDate().toEpochDay() : NONE);
+    putBytes(buf, name);
+    putBytes(buf, email);
+    putBytes(buf, role);
+    return buf.array();
+  }
+
+  private EmployeeDTO decode(long loc) {
+    ByteBuffer chunk = chunk(loc);
+    int off = offset(loc);
+    byte[] payload = new byte[chunk.getInt(off)];
+    chunk.get(off + Integer.BYTES, payload);
+
+    ByteBuffer buf = ByteBuffer.wrap(payload);
+    long id = buf.getLong();
+    long deptId = buf.getLong();
+    long hireDate = buf.getLong();
+    return EmployeeDTO.builder()
+      .id(id)
+      .departmentId(deptId != NONE ? deptId : null)
+      .hireDate(hireDate != NONE ? LocalDate.ofEpochDay(hireDate) : null)
+      .fullName(getString(buf))
+      .email(getString(buf))
+      .role(getString(buf))
+      .build();
+  }
+
+  private ByteBuffer chunk(long loc) {
+    return chunks.get((int) (loc >>> 32));
+  }
+
+  private static int offset(long loc) {
+    return (int) loc;
+  }
+
+  private static byte[] utf8(String s) {
+    return s != null ? s.getBytes(StandardCharsets.UTF_8) : null;
+  }
+
+  private static int len(byte[] b) {
+    return b != null ? b.length : 0;
+  }
+
+  private static void putBytes(ByteBuffer buf, byte[] b) {
+    buf.putInt(b != null ? b.length : -1);
+    if (b != null) buf.put(b);
+  }
+
+  private static String getString(ByteBuffer buf) {
+    int n = buf.getInt();
+    if (n < 0) return null;
+    String s = new String(buf.array(), buf.position(), n, StandardCharsets.UTF_8);
+    buf.position(buf.position() + n);
+    return s;
+  }
+}
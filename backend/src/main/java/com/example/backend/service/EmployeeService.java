@@ -1,33 +1,111 @@
 package com.example.backend.service;
 
+import com.example.backend.dto.CursorPage;
 import com.example.backend.dto.EmployeeDTO;
 import com.example.backend.models.Employee;
 import com.example.backend.repository.EmployeeRepository;
+import com.example.backend.repository.PerformanceReportRepository;
+import com.example.backend.security.TokenRevocationRegistry;
+import com.example.backend.service.TableVersions.Table;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class EmployeeService {
 
   private final EmployeeRepository repo;
+  private final TokenRevocationRegistry revocations;
+  private final Pagination pagination;
+  private final PerformanceReportRepository reportRepo;
+  private final DepartmentPerformanceService rollups;
+  private final DepartmentCache departments;
+  private final TableVersions versions;
+  private final EmployeeReadModel profiles;
+  private final boolean warmProfiles;
 
-  public EmployeeService(EmployeeRepository repo) {
+  public EmployeeService(
+    EmployeeRepository repo,
+    TokenRevocationRegistry revocations,
+    Pagination pagination,
+    PerformanceReportRepository reportRepo,
+    DepartmentPerformanceService rollups,
+    DepartmentCache departments,
+    TableVersions versions,
+    EmployeeReadModel profiles,
+    @Value("${app.read-model.employees.warm-on-startup:true}") boolean warmProfiles
+  ) {
     this.repo = repo;
+    this.revocations = revocations;
+    this.pagination = pagination;
+    this.reportRepo = reportRepo;
+    this.rollups = rollups;
+    this.departments = departments;
+    this.versions = versions;
+    this.profiles = profiles;
+    this.warmProfiles = warmProfiles;
+  }
+
+  // Carga el modelo de perfiles por páginas keyset
+  @EventListener(ApplicationReadyEvent.class)
+  public void warmProfiles() {
+    if (!warmProfiles) return;
+    long seq = profiles.writeSeq();
+    long last = 0;
+    List<Employee> rows;
+    do {
+      rows = repo.findByIdGreaterThanOrderByIdAsc(last, Limit.of(1000));
+      for (Employee e : rows) {
+        profiles.fill(EmployeeReadModel.profile(e), seq);
+        last = e.getId();
+      }
+    } while (!rows.isEmpty());
   }
 
   public Employee create(Employee e) {
-    return repo.save(e);
+    Employee saved = repo.save(e);
+    versions.bump(Table.EMPLOYEES);
+    return saved;
   }
 
-  public List<EmployeeDTO> findAll() {
-    return repo.findAll().stream().map(this::toDto).toList();
+  // Página keyset ordenada por id
+  @Transactional(readOnly = true)
+  public CursorPage<EmployeeDTO> findPage(String cursor, Integer size) {
+    int n = pagination.size(cursor, size);
+    List<Employee> rows = repo.findByIdGreaterThanOrderByIdAsc(
+      KeysetCursor.parse(cursor).id(),
+      pagination.probe(n)
+    );
+    return pagination.page(rows, n, this::toDto, e -> KeysetCursor.of(e.getId()));
   }
 
+  // Sin transacción: si está en el modelo de lectura no se toca la BD
   public Optional<EmployeeDTO> findOne(Long id) {
-    return repo.findById(id).map(this::toDto);
+    return findProfile(id).map(this::withDepartmentName);
+  }
+
+  // Sin departmentName (no consulta DepartmentCache): basta para existencia y dueño
+  public Optional<EmployeeDTO> findProfile(Long id) {
+    var cached = profiles.get(id);
+    if (cached.isPresent()) return cached;
+
+    long seq = profiles.writeSeq(); // antes de leer la BD (ver EmployeeReadModel.fill)
+    var loaded = repo.findById(id).map(EmployeeReadModel::profile);
+    loaded.ifPresent(dto -> profiles.fill(dto, seq));
+    return loaded;
+  }
+
+  // Dueño del perfil: primero por el índice email → id del modelo de lectura
+  public boolean isOwner(EmployeeDTO profile, String email) {
+    Boolean owned = profiles.ownedBy(profile.getId(), email);
+    return owned != null ? owned : email.equals(profile.getEmail());
   }
 
   public Optional<Employee> findEntityById(Long id) { // 👈 para /{id}
@@ -35,10 +113,18 @@ public class EmployeeService {
   }
 
   //Eliminar empleado
+  @Transactional
   public void delete(Long id) {
+    // Sus reportes se borran en cascada: hay que recalcular esos rollups
+    List<Long> deptIds = reportRepo.findDepartmentIdsByEmployee(id);
     repo.deleteById(id);
+    repo.flush();
+    rollups.rebuild(deptIds);
+    revocations.revoke(id); // sus tokens dejan de valer ya
+    versions.bump(Table.EMPLOYEES, Table.REPORTS);
   }
 
+  @Transactional
   public EmployeeDTO update(Long id, EmployeeDTO dto) {
     Employee emp = repo.findById(id).orElseThrow();
 
@@ -57,23 +143,27 @@ public class EmployeeService {
     emp.setFullName(dto.getFullName());
     // TODO: si recibes departmentId aquí, cargar y setear
     repo.save(emp);
+    versions.bump(Table.EMPLOYEES);
     return toDto(emp);
   }
 
+  private EmployeeDTO withDepartmentName(EmployeeDTO dto) {
+    dto.setDepartmentName(departments.name(dto.getDepartmentId()));
+    return dto;
+  }
+
   // 👇 hazlo public
   public EmployeeDTO toDto(Employee e) {
+    // getId() del proxy no inicializa el departamento; el nombre sale de la cache
+    Long deptId = e.getDepartment() != null ? e.getDepartment().getId() : null;
     return EmployeeDTO.builder()
       .id(e.getId())
       .fullName(e.getFullName())
       .email(e.getEmail())
       .role(e.getRole().name())
       .hireDate(e.getHireDate())
-      .departmentId(
-        e.getDepartment() != null ? e.getDepartment().getId() : null
-      )
-      .departmentName(
-        e.getDepartment() != null ? e.getDepartment().getName() : null
-      )
+      .departmentId(deptId)
+      .departmentName(departments.name(deptId))
       .build();
   }
 }
@@ -0,0 +1,49 @@
+package com.example.backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Posición de una paginación keyset: (createdAt, id) o solo id.
+ * Se serializa en base64 url-safe para que el cliente lo trate como opaco.
+ */
+public record KeysetCursor(Instant createdAt, long id) {
+
+  // Primera página: antes de cualquier fila
+  public static final KeysetCursor START = new KeysetCursor(Instant.EPOCH, 0L);
+
+  public static KeysetCursor parse(String cursor) {
+    if (cursor == null || cursor.isBlank()) return START;
+    try {
+      String raw = new String(
+        Base64.getUrlDecoder().decode(cursor),
+        StandardCharsets.UTF_8
+      );
+      int sep = raw.indexOf('|');
+      if (sep < 0) return new KeysetCursor(Instant.EPOCH, Long.parseLong(raw));
+      return new KeysetCursor(
+        Instant.parse(raw.substring(0, sep)),
+        Long.parseLong(raw.substring(sep + 1))
+      );
+    } catch (RuntimeException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor inválido");
+    }
+  }
+
+  public static String of(long id) {
+    return encode(Long.toString(id));
+  }
+
+  public static String of(Instant createdAt, long id) {
+    return encode(createdAt + "|" + id);
+  }
+
+  private static String encode(String raw) {
+    return Base64.getUrlEncoder()
+      .withoutPadding()
+      .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+}
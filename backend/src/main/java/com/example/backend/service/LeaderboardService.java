@@ -0,0 +1,100 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.EmployeeDTO;
+import com.example.backend.dto.LeaderboardEntryDTO;
+import com.example.backend.dto.ReportDTO;
+import com.example.backend.repository.PerformanceReportRepository;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Service
+public class LeaderboardService {
+
+  private static final int MAX_K = 100;
+
+  private final DepartmentLeaderboard board;
+  private final PerformanceReportRepository repo;
+  private final EmployeeService employees;
+  private final boolean rebuildOnStartup;
+
+  public LeaderboardService(
+    DepartmentLeaderboard board,
+    PerformanceReportRepository repo,
+    EmployeeService employees,
+    @Value("${app.leaderboard.rebuild-on-startup:true}") boolean rebuildOnStartup
+  ) {
+    this.board = board;
+    this.repo = repo;
+    this.employees = employees;
+    this.rebuildOnStartup = rebuildOnStartup;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional(readOnly = true)
+  public void onStartup() {
+    if (rebuildOnStartup) rebuild();
+  }
+
+  // Una consulta agregada; después todo es incremental
+  @Transactional(readOnly = true)
+  public void rebuild() {
+    board.clear();
+    for (var row : repo.leaderboardRows()) {
+      board.load(
+        row.getDepartmentId(),
+        row.getEmployeeId(),
+        row.getReportCount(),
+        row.getScoreSum()
+      );
+    }
+  }
+
+  // Altas y cambios de score; los borrados llegan por ReportRemovalListener
+  @TransactionalEventListener
+  public void onReportChanged(ReportChangedEvent event) {
+    ReportDTO r = event.report();
+    switch (event.type()) {
+      case CREATED -> board.onCreated(r.getDepartmentId(), r.getEmployeeId(), r.getScore());
+      case UPDATED -> {
+        if (event.previousScore() != null) {
+          board.onScoreChanged(
+            r.getDepartmentId(),
+            r.getEmployeeId(),
+            event.previousScore(),
+            r.getScore()
+          );
+        }
+      }
+      case DELETED -> {}
+    }
+  }
+
+  public List<LeaderboardEntryDTO> top(Long departmentId, Integer k) {
+    int n = k == null ? 10 : Math.max(1, Math.min(k, MAX_K));
+    List<LeaderboardEntryDTO> out = new ArrayList<>(n);
+    int rank = 1;
+    for (var e : board.top(departmentId, n)) {
+      // Nombres desde el modelo de lectura de perfiles (memoria)
+      String name = employees
+        .findOne(e.employeeId())
+        .map(EmployeeDTO::getFullName)
+        .orElse(null);
+      out.add(
+        new LeaderboardEntryDTO(
+          rank++,
+          e.employeeId(),
+          name,
+          Math.round(e.average() * 100) / 100.0,
+          e.reportCount()
+        )
+      );
+    }
+    return out;
+  }
+}
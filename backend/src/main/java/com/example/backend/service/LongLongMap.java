@@ -0,0 +1,130 @@
+package com.example.backend.service;
+
+import java.util.Arrays;
+
+/**
+ * Mapa long → long de direccionamiento abierto (sondeo lineal, borrado por
+ * desplazamiento hacia atrás). Sin boxing: la clave 0 está reservada como
+ * "vacío", así que solo admite claves positivas (ids de BD). No es thread-safe.
+ */
+final class LongLongMap {
+
+  interface Visitor {
+    void visit(long key, long value);
+  }
+
+  interface Remapper {
+    long remap(long key, long value);
+  }
+
+  private final long missing;
+  private long[] keys;
+  private long[] values;
+  private int size;
+
+  LongLongMap(int expected, long missing) {
+    this.missing = missing;
+    int cap = Integer.highestOneBit(Math.max(16, expected * 2) - 1) << 1;
+    this.keys = new long[cap];
+    this.values = new long[cap];
+  }
+
+  int size() {
+    return size;
+  }
+
+  long get(long key) {
+    // 0 coincidiría con el primer hueco libre
+    if (key <= 0) return missing;
+    int mask = keys.length - 1;
+    for (int i = slot(key, mask);; i = (i + 1) & mask) {
+      long k = keys[i];
+      if (k == key) return values[i];
+      if (k == 0) return missing;
+    }
+  }
+
+  /** Devuelve el valor anterior o {@code missing}. */
+  long put(long key, long value) {
+    if (key <= 0) throw new IllegalArgumentException("Clave inválida: " + key);
+    if ((size + 1) * 10 > keys.length * 6) grow();
+
+    int mask = keys.length - 1;
+    for (int i = slot(key, mask);; i = (i + 1) & mask) {
+      long k = keys[i];
+      if (k == key) {
+        long old = values[i];
+        values[i] = value;
+        return old;
+      }
+      if (k == 0) {
+        keys[i] = key;
+        values[i] = value;
+        size++;
+        return missing;
+      }
+    }
+  }
+
+  long remove(long key) {
+    if (key <= 0) return missing;
+    int mask = keys.length - 1;
+    int i = slot(key, mask);
+    while (keys[i] != key) {
+      if (keys[i] == 0) return missing;
+      i = (i + 1) & mask;
+    }
+    long old = values[i];
+    size--;
+
+    // Desplaza hacia atrás los que quedaron detrás del hueco
+    for (int j = (i + 1) & mask; keys[j] != 0; j = (j + 1) & mask) {
+      int ideal = slot(keys[j], mask);
+      boolean between = i <= j ? (i < ideal && ideal <= j) : (i < ideal || ideal <= j);
+      if (!between) {
+        keys[i] = keys[j];
+        values[i] = values[j];
+        i = j;
+      }
+    }
+    keys[i] = 0;
+    values[i] = 0;
+    return old;
+  }
+
+  void forEach(Visitor visitor) {
+    for (int i = 0; i < keys.length; i++) {
+      if (keys[i] != 0) visitor.visit(keys[i], values[i]);
+    }
+  }
+
+  // Cambia valores sin tocar la estructura
+  void replaceAll(Remapper remapper) {
+    for (int i = 0; i < keys.length; i++) {
+      if (keys[i] != 0) values[i] = remapper.remap(keys[i], values[i]);
+    }
+  }
+
+  void clear() {
+    Arrays.fill(keys, 0);
+    Arrays.fill(values, 0);
+    size = 0;
+  }
+
+  private void grow() {
+    long[] oldKeys = keys;
+    long[] oldValues = values;
+    keys = new long[oldKeys.length * 2];
+    values = new long[oldValues.length * 2];
+    size = 0;
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != 0) put(oldKeys[i], oldValues[i]);
+    }
+  }
+
+  // Visible para los tests (elegir claves que colisionen)
+  static int slot(long key, int mask) {
+    long h = key * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32)) & mask;
+  }
+}
@@ -0,0 +1,55 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.CursorPage;
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+@Component
+public class Pagination {
+
+  // Sin cursor ni size la lista va completa, como antes de paginar: el
+  // frontend actual no sigue X-Next-Cursor. MAX - 1 para que size + 1 no desborde
+  public static final int UNPAGED = Integer.MAX_VALUE - 1;
+
+  private final int defaultSize;
+  private final int maxSize;
+
+  public Pagination(
+    @Value("${app.pagination.default-size:200}") int defaultSize,
+    @Value("${app.pagination.max-size:1000}") int maxSize
+  ) {
+    this.defaultSize = defaultSize;
+    this.maxSize = maxSize;
+  }
+
+  public int size(Integer requested) {
+    if (requested == null || requested <= 0) return Math.min(defaultSize, maxSize);
+    return Math.min(requested, maxSize);
+  }
+
+  // Listados keyset: el tamaño por defecto solo aplica si el cliente ya pagina
+  public int size(String cursor, Integer requested) {
+    if ((cursor == null || cursor.isBlank()) && requested == null) return UNPAGED;
+    return size(requested);
+  }
+
+  // Se pide una fila de más para saber si existe siguiente página
+  public Limit probe(int size) {
+    return size >= UNPAGED ? Limit.unlimited() : Limit.of(size + 1);
+  }
+
+  public <E, D> CursorPage<D> page(
+    List<E> rows,
+    int size,
+    Function<E, D> toDto,
+    Function<E, String> cursorOf
+  ) {
+    boolean more = rows.size() > size;
+    List<E> slice = more ? rows.subList(0, size) : rows;
+    String next = more ? cursorOf.apply(slice.get(size - 1)) : null;
+    return new CursorPage<>(slice.stream().map(toDto).toList(), next);
+  }
+}
@@ -0,0 +1,69 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.ScoreAggregateDTO;
+import com.example.backend.service.ReportColumnStore.GroupBy;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+// Analítica ad-hoc sobre ReportColumnStore: no toca la BD
+@Service
+public class ReportAnalyticsService {
+
+  private final ReportColumnStore store;
+  private final DepartmentCache departments;
+
+  public ReportAnalyticsService(ReportColumnStore store, DepartmentCache departments) {
+    this.store = store;
+    this.departments = departments;
+  }
+
+  /** Score agregado; from incluido y to excluido (días UTC). */
+  public List<ScoreAggregateDTO> scores(
+    String groupBy,
+    LocalDate from,
+    LocalDate to,
+    Long departmentId,
+    Long employeeId
+  ) {
+    GroupBy by = parse(groupBy);
+    var query = new ReportColumnStore.Query(
+      from != null ? from.atStartOfDay(ZoneOffset.UTC).toInstant() : null,
+      to != null ? to.atStartOfDay(ZoneOffset.UTC).toInstant() : null,
+      departmentId,
+      employeeId,
+      by
+    );
+    return store
+      .aggregate(query)
+      .stream()
+      .map(g ->
+        new ScoreAggregateDTO(
+          g.key(),
+          by == GroupBy.DEPARTMENT && !g.key().equals("none")
+            ? departments.name(Long.valueOf(g.key()))
+            : null,
+          g.count(),
+          g.avgScore(),
+          g.minScore(),
+          g.maxScore()
+        )
+      )
+      .toList();
+  }
+
+  private static GroupBy parse(String s) {
+    if (s == null || s.isBlank()) return GroupBy.NONE;
+    try {
+      return GroupBy.valueOf(s.trim().toUpperCase());
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(
+        HttpStatus.BAD_REQUEST,
+        "groupBy debe ser none, department, employee o month"
+      );
+    }
+  }
+}
@@ -0,0 +1,388 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.ReportDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Almacén frío de reportes archivados en disco local.
+ *
+ * Cada ejecución del archivado escribe un segmento inmutable:
+ * - segment-NNNNNN.dat: bloques gzip independientes de NDJSON (ReportDTO),
+ *   ordenados por departamento y fecha. Un bloque nunca mezcla departamentos,
+ *   así su rango de fechas es el del departamento y no el de todo el lote.
+ * - segment-NNNNNN.idx: índice disperso por bloque (offset, empleados,
+ *   departamentos y rango de fechas). Antes del commit solo existe como
+ *   .idx.tmp; {@link #publish} lo mueve a su sitio cuando las filas ya se
+ *   borraron de la tabla. Un .dat sin .idx es un archivado que no llegó a
+ *   confirmarse (las filas siguen en la tabla) y se borra al arrancar.
+ *
+ * El índice de todos los segmentos vive en memoria ordenado por fecha mínima;
+ * una página recorre los bloques candidatos en ese orden y para en cuanto el
+ * siguiente ya no puede aportar filas anteriores a las que tiene.
+ */
+@Component
+public class ReportArchive {
+
+  private static final Logger log = LoggerFactory.getLogger(ReportArchive.class);
+
+  private static final Comparator<ReportDTO> ORDER = Comparator
+    .comparing((ReportDTO r) -> Instant.parse(r.getCreatedAt()))
+    .thenComparing(ReportDTO::getId);
+
+  private static final Comparator<Block> BY_MIN_CREATED_AT = Comparator.comparingLong(
+    b -> b.index().minCreatedAt()
+  );
+
+  /** Metadatos de un bloque tal como se guardan en el .idx. */
+  public record BlockIndex(
+    long offset,
+    int length,
+    int count,
+    long[] employees,
+    long[] departments,
+    long minCreatedAt,
+    long maxCreatedAt
+  ) {}
+
+  private record Block(Path file, BlockIndex index) {}
+
+  /** Segmento escrito pero aún no visible (se publica tras el commit). */
+  public record Segment(Path data, Path index, List<BlockIndex> blocks) {
+    Path pendingIndex() {
+      return index.resolveSibling(index.getFileName() + ".tmp");
+    }
+  }
+
+  private final ObjectMapper mapper;
+  private final Path dir;
+  private final int blockSize;
+  private final int cacheBlocks;
+
+  // Copy-on-write: los lectores nunca bloquean
+  private volatile List<Block> blocks = List.of();
+  private long nextSegment = 1;
+
+  // Últimos bloques descomprimidos (paginar una historia relee los mismos)
+  private final Map<Block, List<ReportDTO>> cache;
+
+  public ReportArchive(
+    ObjectMapper mapper,
+    @Value("${app.archive.dir:archive}") String dir,
+    @Value("${app.archive.block-size:256}") int blockSize,
+    @Value("${app.archive.block-cache:64}") int cacheBlocks
+  ) {
+    this.mapper = mapper;
+    this.dir = Path.of(dir);
+    this.blockSize = blockSize;
+    this.cacheBlocks = cacheBlocks;
+    this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Block, List<ReportDTO>> eldest) {
+        return size() > ReportArchive.this.cacheBlocks;
+      }
+    };
+  }
+
+  @PostConstruct
+  public synchronized void load() throws IOException {
+    if (!Files.isDirectory(dir)) return;
+    List<Block> loaded = new ArrayList<>();
+    List<Path> data;
+    try (Stream<Path> files = Files.list(dir)) {
+      data = files.filter(p -> p.getFileName().toString().matches("segment-\\d+\\.dat")).sorted().toList();
+    }
+    for (Path dat : data) {
+      Path idx = indexOf(dat);
+      nextSegment = Math.max(nextSegment, number(dat) + 1);
+      if (!Files.exists(idx)) {
+        log.warn("Segmento sin índice (archivado no confirmado), se elimina: {}", dat);
+        Files.delete(dat);
+        continue;
+      }
+      BlockIndex[] index = mapper.readValue(idx.toFile(), BlockIndex[].class);
+      for (BlockIndex b : index) loaded.add(new Block(dat, b));
+    }
+    try (Stream<Path> files = Files.list(dir)) {
+      for (Path tmp : files.filter(p -> p.toString().endsWith(".tmp")).toList()) {
+        Files.delete(tmp);
+      }
+    }
+    loaded.sort(BY_MIN_CREATED_AT);
+    blocks = List.copyOf(loaded);
+    log.info("Archivo de reportes: {} bloques en {} segmentos", loaded.size(), data.size());
+  }
+
+  // ---- escritura (la usa ReportArchiveJob) ----
+
+  /**
+   * Escribe un segmento nuevo en disco, todavía invisible para las lecturas:
+   * el .dat queda en su sitio y el índice como .idx.tmp hasta {@link #publish}.
+   */
+  public synchronized Segment write(List<ReportDTO> reports) throws IOException {
+    Files.createDirectories(dir);
+    String name = String.format("segment-%06d", nextSegment++);
+    Path dat = dir.resolve(name + ".dat");
+    Path idx = dir.resolve(name + ".idx");
+
+    List<ReportDTO> sorted = new ArrayList<>(reports);
+    sorted.sort(Comparator.comparingLong(ReportArchive::departmentKey).thenComparing(ORDER));
+
+    List<BlockIndex> index = new ArrayList<>();
+    Path datTmp = dir.resolve(name + ".dat.tmp");
+    try (
+      FileChannel out = FileChannel.open(
+        datTmp,
+        StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING,
+        StandardOpenOption.WRITE
+      )
+    ) {
+      long offset = 0;
+      int from = 0;
+      while (from < sorted.size()) {
+        // Corta en blockSize filas o al cambiar de departamento
+        long dept = departmentKey(sorted.get(from));
+        int to = from + 1;
+        while (
+          to < sorted.size() &&
+          to - from < blockSize &&
+          departmentKey(sorted.get(to)) == dept
+        ) to++;
+        List<ReportDTO> block = sorted.subList(from, to);
+        byte[] bytes = compress(block);
+        ByteBuffer buf = ByteBuffer.wrap(bytes);
+        while (buf.hasRemaining()) out.write(buf);
+        index.add(describe(block, offset, bytes.length));
+        offset += bytes.length;
+        from = to;
+      }
+      out.force(true);
+    }
+    Files.move(datTmp, dat, StandardCopyOption.ATOMIC_MOVE);
+
+    Segment segment = new Segment(dat, idx, index);
+    Files.write(segment.pendingIndex(), mapper.writeValueAsBytes(index));
+    try (FileChannel ch = FileChannel.open(segment.pendingIndex(), StandardOpenOption.WRITE)) {
+      ch.force(true);
+    }
+    return segment;
+  }
+
+  /**
+   * Confirma el segmento en disco (el .idx es la marca de commit) y lo hace
+   * visible. Se llama tras el commit que borró las filas de la tabla.
+   */
+  public synchronized void publish(Segment segment) {
+    try {
+      Files.move(segment.pendingIndex(), segment.index(), StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      // Las filas ya no están en la tabla: se sirve desde memoria y hay que reparar a mano
+      log.error("No se pudo confirmar el índice del segmento {}", segment.data(), e);
+    }
+    List<Block> next = new ArrayList<>(blocks);
+    for (BlockIndex b : segment.blocks()) next.add(new Block(segment.data(), b));
+    next.sort(BY_MIN_CREATED_AT);
+    blocks = List.copyOf(next);
+  }
+
+  /** Rollback: las filas siguen en la tabla, el segmento sobra. */
+  public void discard(Segment segment) {
+    try {
+      Files.deleteIfExists(segment.pendingIndex());
+      Files.deleteIfExists(segment.index());
+      Files.deleteIfExists(segment.data());
+    } catch (IOException e) {
+      log.warn("No se pudo borrar el segmento descartado {}", segment.data(), e);
+    }
+  }
+
+  // ---- lectura ----
+
+  /** Reportes archivados del empleado posteriores al cursor, en orden (createdAt, id). */
+  public List<ReportDTO> pageByEmployee(long employeeId, KeysetCursor after, int limit) {
+    return page(
+      b -> Arrays.binarySearch(b.employees(), employeeId) >= 0,
+      r -> r.getEmployeeId() != null && r.getEmployeeId() == employeeId,
+      after,
+      limit
+    );
+  }
+
+  public List<ReportDTO> pageByDepartment(long departmentId, KeysetCursor after, int limit) {
+    return page(
+      b -> Arrays.binarySearch(b.departments(), departmentId) >= 0,
+      r -> r.getDepartmentId() != null && r.getDepartmentId() == departmentId,
+      after,
+      limit
+    );
+  }
+
+  public int blockCount() {
+    return blocks.size();
+  }
+
+  public long reportCount() {
+    long n = 0;
+    for (Block b : blocks) n += b.index().count();
+    return n;
+  }
+
+  private List<ReportDTO> page(
+    Predicate<BlockIndex> mayContain,
+    Predicate<ReportDTO> matches,
+    KeysetCursor after,
+    int limit
+  ) {
+    long afterMs = after.createdAt().toEpochMilli();
+    List<ReportDTO> out = new ArrayList<>();
+    for (Block b : blocks) {
+      BlockIndex index = b.index();
+      // Todo el bloque es anterior al cursor: ni se abre
+      if (index.maxCreatedAt() < afterMs || !mayContain.test(index)) continue;
+      if (out.size() >= limit) {
+        out = firstDistinct(out, limit);
+        // Los bloques van por fecha mínima: este y los siguientes empiezan después
+        // de la última fila de la página, ya no pueden entrar en ella
+        if (
+          out.size() == limit &&
+          Instant.parse(out.get(limit - 1).getCreatedAt()).toEpochMilli() < index.minCreatedAt()
+        ) break;
+      }
+      for (ReportDTO r : read(b)) {
+        if (matches.test(r) && isAfter(r, after)) out.add(r);
+      }
+    }
+    return firstDistinct(out, limit);
+  }
+
+  // Ordena y recorta; un archivado interrumpido antes del commit puede repetir
+  // filas en otro segmento (mismo id, misma fecha: quedan contiguas)
+  private static List<ReportDTO> firstDistinct(List<ReportDTO> rows, int limit) {
+    rows.sort(ORDER);
+    List<ReportDTO> page = new ArrayList<>(Math.min(rows.size(), limit));
+    for (ReportDTO r : rows) {
+      if (page.size() == limit) break;
+      if (!page.isEmpty() && page.get(page.size() - 1).getId().equals(r.getId())) continue;
+      page.add(r);
+    }
+    return page;
+  }
+
+  private static long departmentKey(ReportDTO r) {
+    return r.getDepartmentId() != null ? r.getDepartmentId() : 0L;
+  }
+
+  private static boolean isAfter(ReportDTO r, KeysetCursor after) {
+    int c = Instant.parse(r.getCreatedAt()).compareTo(after.createdAt());
+    return c > 0 || (c == 0 && r.getId() > after.id());
+  }
+
+  private List<ReportDTO> read(Block b) {
+    synchronized (cache) {
+      List<ReportDTO> hit = cache.get(b);
+      if (hit != null) return hit;
+    }
+    List<ReportDTO> rows = new ArrayList<>(b.index().count());
+    try (FileChannel ch = FileChannel.open(b.file(), StandardOpenOption.READ)) {
+      ByteBuffer buf = ByteBuffer.allocate(b.index().length());
+      long pos = b.index().offset();
+      while (buf.hasRemaining()) {
+        if (ch.read(buf, pos + buf.position()) < 0) break;
+      }
+      try (
+        BufferedReader in = new BufferedReader(
+          new InputStreamReader(
+            new GZIPInputStream(new ByteArrayInputStream(buf.array())),
+            StandardCharsets.UTF_8
+          )
+        )
+      ) {
+        String line;
+        while ((line = in.readLine()) != null) {
+          if (!line.isEmpty()) rows.add(mapper.readValue(line, ReportDTO.class));
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("No se pudo leer el archivo de reportes " + b.file(), e);
+    }
+    List<ReportDTO> frozen = List.copyOf(rows);
+    synchronized (cache) {
+      cache.put(b, frozen);
+    }
+    return frozen;
+  }
+
+  private byte[] compress(List<ReportDTO> block) throws IOException {
+    var bytes = new ByteArrayOutputStream();
+    try (var gz = new GZIPOutputStream(bytes)) {
+      for (ReportDTO r : block) {
+        gz.write(mapper.writeValueAsBytes(r));
+        gz.write('\n');
+      }
+    }
+    return bytes.toByteArray();
+  }
+
+  private static BlockIndex describe(List<ReportDTO> block, long offset, int length) {
+    TreeSet<Long> employees = new TreeSet<>();
+    TreeSet<Long> departments = new TreeSet<>();
+    long min = Long.MAX_VALUE;
+    long max = Long.MIN_VALUE;
+    for (ReportDTO r : block) {
+      if (r.getEmployeeId() != null) employees.add(r.getEmployeeId());
+      if (r.getDepartmentId() != null) departments.add(r.getDepartmentId());
+      long t = Instant.parse(r.getCreatedAt()).toEpochMilli();
+      min = Math.min(min, t);
+      max = Math.max(max, t);
+    }
+    return new BlockIndex(
+      offset,
+      length,
+      block.size(),
+      employees.stream().mapToLong(Long::longValue).toArray(),
+      departments.stream().mapToLong(Long::longValue).toArray(),
+      min,
+      max
+    );
+  }
+
+  private static Path indexOf(Path dat) {
+    String name = dat.getFileName().toString();
+    return dat.resolveSibling(name.substring(0, name.length() - 4) + ".idx");
+  }
+
+  private static long number(Path dat) {
+    String name = dat.getFileName().toString();
+    return Long.parseLong(name.substring("segment-".length(), name.length() - 4));
+  }
+}
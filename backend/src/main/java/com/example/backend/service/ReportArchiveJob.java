@@ -0,0 +1,136 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.ReportDTO;
+import com.example.backend.models.PerformanceReport;
+import com.example.backend.repository.PerformanceReportRepository;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Mueve los reportes más antiguos que max-age-days de performance_report a
+ * segmentos de ReportArchive, por lotes y cada lote en su propia transacción.
+ *
+ * Orden: se escribe el .dat, se borran las filas y, solo si el commit sale
+ * bien, se confirma el .idx y el segmento se hace visible. Si el proceso
+ * muere antes, el .dat huérfano se borra al arrancar y las filas, que siguen
+ * en la tabla, se archivan en la siguiente ejecución.
+ *
+ * Archivar cuenta como borrado para todo lo derivado de la tabla: rollups,
+ * stats, ranking, histogramas, analítica columnar, búsqueda, tendencia y
+ * export cubren solo la tabla caliente (así coinciden con lo que se
+ * reconstruye al arrancar). El histórico archivado se lee solo por los
+ * listados de ReportService, y es de solo lectura: PUT/DELETE responden 404.
+ */
+@Service
+public class ReportArchiveJob {
+
+  private static final Logger log = LoggerFactory.getLogger(ReportArchiveJob.class);
+
+  private final PerformanceReportRepository repo;
+  private final ReportArchive archive;
+  private final ReportService reports;
+  private final DepartmentPerformanceService rollups;
+  private final TableVersions versions;
+  private final TransactionTemplate tx;
+  private final boolean enabled;
+  private final Duration maxAge;
+  private final int batchSize;
+  private final AtomicBoolean running = new AtomicBoolean();
+
+  public ReportArchiveJob(
+    PerformanceReportRepository repo,
+    ReportArchive archive,
+    ReportService reports,
+    DepartmentPerformanceService rollups,
+    TableVersions versions,
+    PlatformTransactionManager txManager,
+    @Value("${app.archive.enabled:false}") boolean enabled,
+    @Value("${app.archive.max-age-days:730}") int maxAgeDays,
+    @Value("${app.archive.batch-size:5000}") int batchSize
+  ) {
+    this.repo = repo;
+    this.archive = archive;
+    this.reports = reports;
+    this.rollups = rollups;
+    this.versions = versions;
+    this.tx = new TransactionTemplate(txManager);
+    this.enabled = enabled;
+    this.maxAge = Duration.ofDays(maxAgeDays);
+    this.batchSize = batchSize;
+  }
+
+  @Scheduled(cron = "${app.archive.cron:0 30 3 * * *}")
+  public void scheduled() {
+    if (enabled) run();
+  }
+
+  /** Archiva todo lo anterior al corte; devuelve cuántos reportes movió (-1 si ya corría). */
+  public long run() {
+    if (!running.compareAndSet(false, true)) return -1;
+    try {
+      Instant cutoff = Instant.now().minus(maxAge);
+      long total = 0;
+      int moved;
+      do {
+        moved = tx.execute(status -> archiveBatch(cutoff));
+        total += moved;
+      } while (moved == batchSize);
+      if (total > 0) log.info("Archivados {} reportes anteriores a {}", total, cutoff);
+      return total;
+    } finally {
+      running.set(false);
+    }
+  }
+
+  private int archiveBatch(Instant cutoff) {
+    List<PerformanceReport> batch = repo.findArchivable(cutoff, Limit.of(batchSize));
+    if (batch.isEmpty()) return 0;
+
+    List<ReportDTO> dtos = batch.stream().map(reports::toDto).toList();
+    ReportArchive.Segment segment;
+    try {
+      segment = archive.write(dtos);
+    } catch (IOException e) {
+      throw new UncheckedIOException("No se pudo escribir el segmento de archivo", e);
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(
+      new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+          if (status == STATUS_COMMITTED) {
+            archive.publish(segment);
+          } else {
+            archive.discard(segment);
+          }
+        }
+      }
+    );
+
+    Set<Long> touched = new HashSet<>();
+    for (ReportDTO r : dtos) touched.add(r.getDepartmentId());
+    // Entidades gestionadas: @PostRemove las quita de columnar, ranking,
+    // histogramas y búsqueda, igual que un borrado (ver javadoc de la clase)
+    repo.deleteAll(batch);
+    repo.flush();
+    rollups.rebuild(touched);
+    versions.bump(TableVersions.Table.REPORTS);
+    return batch.size();
+  }
+}
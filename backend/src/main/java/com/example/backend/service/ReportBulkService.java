@@ -0,0 +1,202 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.BulkReportItem;
+import com.example.backend.dto.BulkReportResult;
+import com.example.backend.dto.ReportDTO;
+import com.example.backend.repository.EmployeeRepository;
+import com.example.backend.repository.EmployeeRepository.EmployeeRef;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Carga masiva de reportes. PerformanceReport usa IDENTITY, con lo que
+ * Hibernate no agrupa inserts; aquí se va directo a JDBC con executeBatch
+ * (y reWriteBatchedInserts en el driver) recuperando los ids generados.
+ */
+@Service
+public class ReportBulkService {
+
+  private static final String INSERT_SQL =
+    "insert into performance_report " +
+    "(title, description, score, created_at, employee_id, department_id) " +
+    "values (?, ?, ?, ?, ?, ?)";
+
+  private final JdbcTemplate jdbc;
+  private final EmployeeRepository empRepo;
+  private final DepartmentPerformanceService rollups;
+  private final ApplicationEventPublisher events;
+  private final int batchSize;
+  private final int maxItems;
+
+  // Fila ya validada, lista para insertar
+  private record Row(int index, BulkReportItem item, EmployeeRef emp) {}
+
+  public ReportBulkService(
+    JdbcTemplate jdbc,
+    EmployeeRepository empRepo,
+    DepartmentPerformanceService rollups,
+    ApplicationEventPublisher events,
+    @Value("${app.reports.bulk.batch-size:500}") int batchSize,
+    @Value("${app.reports.bulk.max-items:20000}") int maxItems
+  ) {
+    this.jdbc = jdbc;
+    this.empRepo = empRepo;
+    this.rollups = rollups;
+    this.events = events;
+    this.batchSize = batchSize;
+    this.maxItems = maxItems;
+  }
+
+  @Transactional
+  public List<BulkReportResult> ingest(List<BulkReportItem> items) {
+    if (items.size() > maxItems) {
+      throw new ResponseStatusException(
+        HttpStatus.PAYLOAD_TOO_LARGE,
+        "Máximo " + maxItems + " reportes por petición"
+      );
+    }
+
+    Map<Long, EmployeeRef> byId = new HashMap<>();
+    Map<String, EmployeeRef> byEmail = new HashMap<>();
+    resolveEmployees(items, byId, byEmail);
+
+    BulkReportResult[] results = new BulkReportResult[items.size()];
+    List<Row> rows = new ArrayList<>(items.size());
+    for (int i = 0; i < items.size(); i++) {
+      BulkReportItem item = items.get(i);
+      EmployeeRef emp = item.getEmployeeId() != null
+        ? byId.get(item.getEmployeeId())
+        : byEmail.get(item.getEmployeeEmail());
+      String error = validate(item, emp);
+      if (error != null) {
+        results[i] = BulkReportResult.rejected(i, error);
+      } else {
+        rows.add(new Row(i, item, emp));
+      }
+    }
+
+    Timestamp now = Timestamp.from(Instant.now());
+    Set<Long> touched = new HashSet<>();
+    for (int from = 0; from < rows.size(); from += batchSize) {
+      List<Row> chunk = rows.subList(from, Math.min(from + batchSize, rows.size()));
+      List<Long> ids = insertBatch(chunk, now);
+      for (int j = 0; j < chunk.size(); j++) {
+        Row r = chunk.get(j);
+        results[r.index()] = BulkReportResult.created(r.index(), ids.get(j));
+        touched.add(r.emp().getDepartmentId());
+        events.publishEvent(
+          new ReportChangedEvent(
+            ReportChangedEvent.Type.CREATED,
+            toDto(r, ids.get(j), now.toInstant()),
+            null
+          )
+        );
+      }
+    }
+    // Un recálculo por departamento afectado en lugar de uno por fila
+    rollups.rebuild(touched);
+    return Arrays.asList(results);
+  }
+
+  // Una sola consulta para todos los empleados referenciados
+  private void resolveEmployees(
+    List<BulkReportItem> items,
+    Map<Long, EmployeeRef> byId,
+    Map<String, EmployeeRef> byEmail
+  ) {
+    Set<Long> ids = new HashSet<>();
+    Set<String> emails = new HashSet<>();
+    for (BulkReportItem item : items) {
+      if (item.getEmployeeId() != null) ids.add(item.getEmployeeId());
+      else if (item.getEmployeeEmail() != null) emails.add(item.getEmployeeEmail());
+    }
+    if (ids.isEmpty() && emails.isEmpty()) return;
+    // Evita "in ()" vacío en cualquiera de las dos listas
+    if (ids.isEmpty()) ids.add(-1L);
+    if (emails.isEmpty()) emails.add("");
+
+    for (EmployeeRef ref : empRepo.findRefs(ids, emails)) {
+      byId.put(ref.getId(), ref);
+      byEmail.put(ref.getEmail(), ref);
+    }
+  }
+
+  private String validate(BulkReportItem item, EmployeeRef emp) {
+    if (emp == null) return "Empleado no encontrado";
+    if (item.getTitle() == null || item.getTitle().isBlank()) {
+      return "title es obligatorio";
+    }
+    // varchar(255): uno más largo haría fallar (y revertir) todo el lote JDBC
+    if (item.getTitle().length() > 255) {
+      return "title supera 255 caracteres";
+    }
+    if (item.getScore() == null || item.getScore() < 1 || item.getScore() > 100) {
+      return "score debe estar entre 1 y 100";
+    }
+    if (item.getDescription() != null && item.getDescription().length() > 2000) {
+      return "description supera 2000 caracteres";
+    }
+    return null;
+  }
+
+  private ReportDTO toDto(Row r, Long id, Instant createdAt) {
+    return new ReportDTO(
+      id,
+      r.item().getTitle(),
+      r.item().getDescription(),
+      r.item().getScore(),
+      r.emp().getId(),
+      r.emp().getDepartmentId(),
+      createdAt,
+      r.emp().getFullName(),
+      r.emp().getDepartmentName()
+    );
+  }
+
+  private List<Long> insertBatch(List<Row> chunk, Timestamp now) {
+    return jdbc.execute((ConnectionCallback<List<Long>>) con -> {
+      try (
+        PreparedStatement ps = con.prepareStatement(INSERT_SQL, new String[] { "id" })
+      ) {
+        for (Row r : chunk) {
+          ps.setString(1, r.item().getTitle());
+          ps.setString(2, r.item().getDescription());
+          ps.setInt(3, r.item().getScore());
+          ps.setTimestamp(4, now);
+          ps.setLong(5, r.emp().getId());
+          if (r.emp().getDepartmentId() != null) {
+            ps.setLong(6, r.emp().getDepartmentId());
+          } else {
+            ps.setNull(6, Types.BIGINT);
+          }
+          ps.addBatch();
+        }
+        ps.executeBatch();
+
+        List<Long> ids = new ArrayList<>(chunk.size());
+        try (ResultSet keys = ps.getGeneratedKeys()) {
+          while (keys.next()) ids.add(keys.getLong(1));
+        }
+        return ids;
+      }
+    });
+  }
+}
@@ -0,0 +1,23 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.ReportDTO;
+
+/**
+ * Se publica en cada alta, edición o baja de un reporte. Los consumidores
+ * en memoria lo escuchan con {@code @TransactionalEventListener}, así solo
+ * ven cambios ya confirmados.
+ *
+ * @param report estado tras el cambio (en DELETED, el último estado conocido)
+ * @param previousScore score anterior en UPDATED; null en los demás casos
+ */
+public record ReportChangedEvent(
+  Type type,
+  ReportDTO report,
+  Integer previousScore
+) {
+  public enum Type {
+    CREATED,
+    UPDATED,
+    DELETED,
+  }
+}
@@ -0,0 +1,539 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.ReportDTO;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Copia columnar de performance_report para analítica: un array primitivo por
+ * columna (score, createdAt, empleado, departamento, mes) y agregaciones por
+ * escaneo paralelo en fork-join, sin entidades ni Hibernate.
+ *
+ * Empleado y departamento se guardan como ordinales densos (int) con su
+ * diccionario, así el group-by acumula en arrays indexados en vez de mapas.
+ * Se reconstruye desde la BD y se parchea con ReportChangedEvent y con
+ * los borrados en cascada (ReportRemovalListener).
+ *
+ * Las escrituras solo toman el lock para su cambio O(1). Los escaneos corren
+ * sobre una copia inmutable que se rehace, también bajo lock, solo cuando hubo
+ * cambios desde la anterior; así una consulta larga no frena los commits.
+ */
+@Component
+public class ReportColumnStore {
+
+  private static final Logger log = LoggerFactory.getLogger(ReportColumnStore.class);
+
+  // Filas por hoja del fork-join
+  private static final int LEAF = 16_384;
+
+  public enum GroupBy {
+    NONE,
+    DEPARTMENT,
+    EMPLOYEE,
+    MONTH,
+  }
+
+  /** Filtro de un escaneo; null = sin filtro en ese campo. */
+  public record Query(
+    Instant from,
+    Instant to,
+    Long departmentId,
+    Long employeeId,
+    GroupBy groupBy
+  ) {}
+
+  /** key: id de departamento/empleado, "YYYY-MM" o "all". */
+  public record Group(String key, long count, double avgScore, int minScore, int maxScore) {}
+
+  private final JdbcTemplate jdbc;
+  private final boolean rebuildOnStartup;
+  private final ForkJoinPool pool = ForkJoinPool.commonPool();
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private Columns columns = new Columns(1024);
+  // Última copia para escanear sin lock (la comparten las consultas concurrentes)
+  private volatile Snapshot snapshot;
+  // Cambios que llegan mientras se reconstruye: se repiten sobre la copia nueva
+  private List<Runnable> replay;
+
+  public ReportColumnStore(
+    JdbcTemplate jdbc,
+    @Value("${app.analytics.rebuild-on-startup:true}") boolean rebuildOnStartup,
+    @Value("${app.analytics.fetch-size:5000}") int fetchSize
+  ) {
+    // Copia propia: el fetch size solo aplica a la carga completa
+    this.jdbc = new JdbcTemplate(jdbc.getDataSource());
+    this.jdbc.setFetchSize(fetchSize);
+    this.rebuildOnStartup = rebuildOnStartup;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onStartup() {
+    if (rebuildOnStartup) rebuild();
+  }
+
+  // Red de seguridad ante cambios que no pasan por eventos (SQL manual, etc.)
+  @Scheduled(
+    initialDelayString = "${app.analytics.rebuild-ms:3600000}",
+    fixedDelayString = "${app.analytics.rebuild-ms:3600000}"
+  )
+  public synchronized void rebuild() {
+    long start = System.nanoTime();
+    lock.writeLock().lock();
+    try {
+      replay = new ArrayList<>();
+    } finally {
+      lock.writeLock().unlock();
+    }
+
+    Columns fresh = new Columns(Math.max(1024, size()));
+    try {
+      // Fuera del lock: las lecturas siguen sobre la copia actual
+      jdbc.query(
+        "select id, score, created_at, employee_id, department_id from performance_report",
+        rs -> {
+          Timestamp created = rs.getTimestamp(3);
+          long dept = rs.getLong(5);
+          fresh.upsert(
+            rs.getLong(1),
+            rs.getInt(2),
+            created != null ? created.getTime() : 0L,
+            rs.getLong(4),
+            rs.wasNull() ? 0L : dept
+          );
+        }
+      );
+    } catch (RuntimeException e) {
+      lock.writeLock().lock();
+      try {
+        replay = null; // se conserva la copia actual
+      } finally {
+        lock.writeLock().unlock();
+      }
+      throw e;
+    }
+
+    lock.writeLock().lock();
+    try {
+      List<Runnable> pending = replay;
+      replay = null;
+      columns = fresh;
+      pending.forEach(Runnable::run);
+    } finally {
+      lock.writeLock().unlock();
+    }
+    log.info(
+      "Snapshot columnar de reportes: {} filas en {} ms",
+      size(),
+      (System.nanoTime() - start) / 1_000_000
+    );
+  }
+
+  // Solo cambios confirmados
+  @TransactionalEventListener
+  public void onReportChanged(ReportChangedEvent event) {
+    ReportDTO r = event.report();
+    if (r.getId() == null) return;
+    long id = r.getId();
+    switch (event.type()) {
+      case CREATED, UPDATED -> {
+        int score = r.getScore() != null ? r.getScore() : 0;
+        long created = r.getCreatedAt() != null
+          ? Instant.parse(r.getCreatedAt()).toEpochMilli()
+          : 0L;
+        long emp = r.getEmployeeId() != null ? r.getEmployeeId() : 0L;
+        long dept = r.getDepartmentId() != null ? r.getDepartmentId() : 0L;
+        apply(c -> c.upsert(id, score, created, emp, dept));
+      }
+      case DELETED -> remove(id);
+    }
+  }
+
+  // También para borrados en cascada (empleado o departamento eliminado)
+  public void remove(long id) {
+    apply(c -> c.remove(id));
+  }
+
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return columns.size - columns.dead;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Agregado de score (count/avg/min/max) con filtro y agrupación opcional. */
+  public List<Group> aggregate(Query q) {
+    Snapshot snap;
+    Scan scan;
+    lock.readLock().lock();
+    try {
+      Columns c = columns;
+      scan = c.scan(q);
+      if (scan == null || c.size == 0) return List.of();
+      snap = snapshot;
+      if (snap == null || snap.source != c || snap.version != c.version) {
+        snap = new Snapshot(c);
+        snapshot = snap;
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+
+    Partial total = pool.invoke(new ScanTask(snap, scan, 0, snap.size));
+    List<Group> out = new ArrayList<>();
+    for (int g = 0; g < scan.groups(); g++) {
+      if (total.count[g] == 0) continue;
+      out.add(
+        new Group(
+          snap.label(scan.groupBy(), g, scan.monthBase()),
+          total.count[g],
+          Math.round((double) total.sum[g] / total.count[g] * 100) / 100.0,
+          total.min[g],
+          total.max[g]
+        )
+      );
+    }
+    return out;
+  }
+
+  private void apply(Consumer<Columns> change) {
+    lock.writeLock().lock();
+    try {
+      change.accept(columns);
+      if (replay != null) replay.add(() -> change.accept(columns));
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  // ---- almacenamiento ----
+
+  /** Parámetros ya traducidos a ordinales para el escaneo. */
+  private record Scan(
+    long from,
+    long to,
+    int deptOrd,
+    int empOrd,
+    GroupBy groupBy,
+    int groups,
+    int monthBase
+  ) {}
+
+  private static final class Columns {
+
+    long[] id;
+    int[] score;
+    byte[] live; // 1 = viva, 0 = borrada (el score puede valer 0)
+    long[] createdAt; // epoch ms
+    int[] emp; // ordinal en empKeys
+    int[] dept; // ordinal en deptKeys (0 = sin departamento)
+    int[] month; // año * 12 + mes (UTC)
+    int size;
+    int dead;
+    long version; // cambia con cada escritura: invalida el Snapshot
+    int minMonth = Integer.MAX_VALUE;
+    int maxMonth = Integer.MIN_VALUE;
+
+    final LongLongMap rowById;
+    final Dictionary emps = new Dictionary();
+    final Dictionary depts = new Dictionary();
+
+    Columns(int capacity) {
+      id = new long[capacity];
+      score = new int[capacity];
+      live = new byte[capacity];
+      createdAt = new long[capacity];
+      emp = new int[capacity];
+      dept = new int[capacity];
+      month = new int[capacity];
+      rowById = new LongLongMap(capacity, -1);
+    }
+
+    void upsert(long reportId, int s, long created, long employeeId, long departmentId) {
+      // rowById solo contiene filas vivas
+      long row = rowById.get(reportId);
+      int i;
+      if (row >= 0) {
+        i = (int) row;
+      } else {
+        if (size == id.length) grow();
+        i = size++;
+        rowById.put(reportId, i);
+      }
+      int m = monthOf(created);
+      id[i] = reportId;
+      score[i] = s;
+      live[i] = 1;
+      createdAt[i] = created;
+      emp[i] = emps.ordinal(employeeId);
+      dept[i] = depts.ordinal(departmentId);
+      month[i] = m;
+      minMonth = Math.min(minMonth, m);
+      maxMonth = Math.max(maxMonth, m);
+      version++;
+    }
+
+    void remove(long reportId) {
+      long row = rowById.remove(reportId);
+      if (row < 0) return;
+      int i = (int) row;
+      live[i] = 0;
+      id[i] = 0;
+      dead++;
+      version++;
+      // Muchos huecos: se compacta para que el escaneo no recorra basura
+      if (dead > 1024 && dead > size / 4) compact();
+    }
+
+    Scan scan(Query q) {
+      int deptOrd = -1;
+      if (q.departmentId() != null) {
+        deptOrd = depts.find(q.departmentId());
+        if (deptOrd < 0) return null;
+      }
+      int empOrd = -1;
+      if (q.employeeId() != null) {
+        empOrd = emps.find(q.employeeId());
+        if (empOrd < 0) return null;
+      }
+      GroupBy by = q.groupBy() != null ? q.groupBy() : GroupBy.NONE;
+      int groups = switch (by) {
+        case NONE -> 1;
+        case DEPARTMENT -> depts.size();
+        case EMPLOYEE -> emps.size();
+        case MONTH -> size == 0 ? 1 : maxMonth - minMonth + 1;
+      };
+      return new Scan(
+        q.from() != null ? q.from().toEpochMilli() : Long.MIN_VALUE,
+        q.to() != null ? q.to().toEpochMilli() : Long.MAX_VALUE,
+        deptOrd,
+        empOrd,
+        by,
+        Math.max(1, groups),
+        minMonth
+      );
+    }
+
+    private void grow() {
+      int cap = id.length + (id.length >> 1) + 16;
+      id = Arrays.copyOf(id, cap);
+      score = Arrays.copyOf(score, cap);
+      live = Arrays.copyOf(live, cap);
+      createdAt = Arrays.copyOf(createdAt, cap);
+      emp = Arrays.copyOf(emp, cap);
+      dept = Arrays.copyOf(dept, cap);
+      month = Arrays.copyOf(month, cap);
+    }
+
+    private void compact() {
+      int w = 0;
+      for (int r = 0; r < size; r++) {
+        if (live[r] == 0) continue;
+        id[w] = id[r];
+        score[w] = score[r];
+        live[w] = 1;
+        createdAt[w] = createdAt[r];
+        emp[w] = emp[r];
+        dept[w] = dept[r];
+        month[w] = month[r];
+        rowById.put(id[w], w);
+        w++;
+      }
+      size = w;
+      dead = 0;
+      version++;
+    }
+
+    private static int monthOf(long epochMs) {
+      ZonedDateTime t = Instant.ofEpochMilli(epochMs).atZone(ZoneOffset.UTC);
+      return t.getYear() * 12 + t.getMonthValue() - 1;
+    }
+  }
+
+  /** id → ordinal denso; el ordinal 0 es "sin valor" (id 0/null). */
+  private static final class Dictionary {
+
+    private final LongLongMap ordinals = new LongLongMap(256, -1);
+    private long[] keys = new long[256];
+    private int next = 1;
+
+    int ordinal(long key) {
+      if (key <= 0) return 0;
+      long ord = ordinals.get(key);
+      if (ord >= 0) return (int) ord;
+      if (next == keys.length) keys = Arrays.copyOf(keys, keys.length * 2);
+      keys[next] = key;
+      ordinals.put(key, next);
+      return next++;
+    }
+
+    int find(long key) {
+      return key <= 0 ? 0 : (int) ordinals.get(key);
+    }
+
+    long[] keys() {
+      return Arrays.copyOf(keys, next);
+    }
+
+    int size() {
+      return next;
+    }
+  }
+
+  /** Copia de las columnas en un instante; no cambia nunca. */
+  private static final class Snapshot {
+
+    final Columns source;
+    final long version;
+    final int size;
+    final int[] score;
+    final byte[] live;
+    final long[] createdAt;
+    final int[] emp;
+    final int[] dept;
+    final int[] month;
+    final long[] empKeys;
+    final long[] deptKeys;
+
+    // Bajo el read lock de la tienda
+    Snapshot(Columns c) {
+      source = c;
+      version = c.version;
+      size = c.size;
+      score = Arrays.copyOf(c.score, size);
+      live = Arrays.copyOf(c.live, size);
+      createdAt = Arrays.copyOf(c.createdAt, size);
+      emp = Arrays.copyOf(c.emp, size);
+      dept = Arrays.copyOf(c.dept, size);
+      month = Arrays.copyOf(c.month, size);
+      empKeys = c.emps.keys();
+      deptKeys = c.depts.keys();
+    }
+
+    String label(GroupBy by, int g, int monthBase) {
+      return switch (by) {
+        case NONE -> "all";
+        case DEPARTMENT -> g == 0 ? "none" : Long.toString(deptKeys[g]);
+        case EMPLOYEE -> Long.toString(empKeys[g]);
+        case MONTH -> {
+          int m = monthBase + g;
+          yield YearMonth.of(m / 12, m % 12 + 1).toString();
+        }
+      };
+    }
+  }
+
+  // ---- escaneo ----
+
+  private static final class Partial {
+
+    final long[] count;
+    final long[] sum;
+    final int[] min;
+    final int[] max;
+
+    Partial(int groups) {
+      count = new long[groups];
+      sum = new long[groups];
+      min = new int[groups];
+      max = new int[groups];
+      Arrays.fill(min, Integer.MAX_VALUE);
+      Arrays.fill(max, Integer.MIN_VALUE);
+    }
+
+    Partial merge(Partial o) {
+      for (int g = 0; g < count.length; g++) {
+        count[g] += o.count[g];
+        sum[g] += o.sum[g];
+        min[g] = Math.min(min[g], o.min[g]);
+        max[g] = Math.max(max[g], o.max[g]);
+      }
+      return this;
+    }
+  }
+
+  private static final class ScanTask extends RecursiveTask<Partial> {
+
+    private final Snapshot c;
+    private final Scan s;
+    private final int lo;
+    private final int hi;
+
+    ScanTask(Snapshot c, Scan s, int lo, int hi) {
+      this.c = c;
+      this.s = s;
+      this.lo = lo;
+      this.hi = hi;
+    }
+
+    @Override
+    protected Partial compute() {
+      if (hi - lo <= LEAF) return leaf();
+      int mid = (lo + hi) >>> 1;
+      ScanTask left = new ScanTask(c, s, lo, mid);
+      left.fork();
+      Partial right = new ScanTask(c, s, mid, hi).compute();
+      return left.join().merge(right);
+    }
+
+    // Bucle sin saltos por fila: los filtros se combinan como 0/1 y se acumula siempre
+    private Partial leaf() {
+      Partial p = new Partial(s.groups());
+      int[] score = c.score;
+      byte[] live = c.live;
+      long[] created = c.createdAt;
+      int[] dept = c.dept;
+      int[] emp = c.emp;
+      int[] month = c.month;
+      long from = s.from();
+      long to = s.to();
+      int deptOrd = s.deptOrd();
+      int empOrd = s.empOrd();
+      int[] groupCol = switch (s.groupBy()) {
+        case NONE -> null;
+        case DEPARTMENT -> dept;
+        case EMPLOYEE -> emp;
+        case MONTH -> month;
+      };
+      int base = s.groupBy() == GroupBy.MONTH ? s.monthBase() : 0;
+
+      for (int i = lo; i < hi; i++) {
+        int sc = score[i];
+        long t = created[i];
+        int pass =
+          live[i] &
+          (t >= from ? 1 : 0) &
+          (t < to ? 1 : 0) &
+          (deptOrd < 0 || dept[i] == deptOrd ? 1 : 0) &
+          (empOrd < 0 || emp[i] == empOrd ? 1 : 0);
+        int g = groupCol == null ? 0 : groupCol[i] - base;
+        p.count[g] += pass;
+        p.sum[g] += (long) sc * pass;
+        p.min[g] = Math.min(p.min[g], pass == 1 ? sc : Integer.MAX_VALUE);
+        p.max[g] = Math.max(p.max[g], pass == 1 ? sc : Integer.MIN_VALUE);
+      }
+      return p;
+    }
+  }
+}
@@ -0,0 +1,122 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.ReportDTO;
+import com.example.backend.repository.PerformanceReportRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+@Service
+public class ReportExportService {
+
+  public enum Format {
+    CSV("csv", MediaType.parseMediaType("text/csv")),
+    NDJSON("ndjson", MediaType.parseMediaType("application/x-ndjson"));
+
+    private final String extension;
+    private final MediaType mediaType;
+
+    Format(String extension, MediaType mediaType) {
+      this.extension = extension;
+      this.mediaType = mediaType;
+    }
+
+    public String extension() {
+      return extension;
+    }
+
+    public MediaType mediaType() {
+      return mediaType;
+    }
+
+    public static Format parse(String value) {
+      for (Format f : values()) {
+        if (f.extension.equalsIgnoreCase(value)) return f;
+      }
+      throw new ResponseStatusException(
+        HttpStatus.BAD_REQUEST,
+        "Formato no soportado: " + value
+      );
+    }
+  }
+
+  private static final String CSV_HEADER =
+    "id,title,description,score,employeeId,employeeName,departmentId,departmentName,createdAt";
+
+  private final PerformanceReportRepository repo;
+  private final ObjectMapper mapper;
+
+  public ReportExportService(
+    PerformanceReportRepository repo,
+    ObjectMapper mapper
+  ) {
+    this.repo = repo;
+    this.mapper = mapper;
+  }
+
+  // Se ejecuta en el hilo del StreamingResponseBody: la transacción (y el
+  // cursor) viven mientras se escribe la respuesta, fila a fila
+  @Transactional(readOnly = true)
+  public void exportByDepartment(Long deptId, Format format, OutputStream out)
+    throws IOException {
+    var writer = new BufferedWriter(
+      new OutputStreamWriter(out, StandardCharsets.UTF_8)
+    );
+    try (Stream<ReportDTO> rows = repo.streamByDepartment(deptId)) {
+      if (format == Format.CSV) writer.write(CSV_HEADER + "\n");
+      Iterator<ReportDTO> it = rows.iterator();
+      while (it.hasNext()) {
+        ReportDTO r = it.next();
+        if (format == Format.CSV) {
+          writeCsv(writer, r);
+        } else {
+          writer.write(mapper.writeValueAsString(r));
+          writer.write('\n');
+        }
+      }
+    }
+    writer.flush();
+  }
+
+  private void writeCsv(BufferedWriter w, ReportDTO r) throws IOException {
+    w.write(String.valueOf(r.getId()));
+    w.write(',');
+    w.write(csv(r.getTitle()));
+    w.write(',');
+    w.write(csv(r.getDescription()));
+    w.write(',');
+    w.write(String.valueOf(r.getScore()));
+    w.write(',');
+    w.write(String.valueOf(r.getEmployeeId()));
+    w.write(',');
+    w.write(csv(r.getEmployeeName()));
+    w.write(',');
+    w.write(r.getDepartmentId() != null ? r.getDepartmentId().toString() : "");
+    w.write(',');
+    w.write(csv(r.getDepartmentName()));
+    w.write(',');
+    w.write(r.getCreatedAt() != null ? r.getCreatedAt() : "");
+    w.write('\n');
+  }
+
+  // RFC 4180: comillas si hay separadores, comillas o saltos de línea
+  private static String csv(String value) {
+    if (value == null) return "";
+    boolean quote =
+      value.indexOf(',') >= 0 ||
+      value.indexOf('"') >= 0 ||
+      value.indexOf('\n') >= 0 ||
+      value.indexOf('\r') >= 0;
+    return quote ? '"' + value.replace("\"", "\"\"") + '"' : value;
+  }
+}
@@ -0,0 +1,132 @@
+package com.example.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Journal local de solo-append para la escritura diferida de reportes.
+ * Una línea "P {json}" por reporte aceptado y "D id" cuando ya está en la BD.
+ * Al arrancar se reencolan los P sin su D. Es at-least-once: si el proceso
+ * cae entre el commit y la línea D, ese reporte se inserta de nuevo.
+ */
+final class ReportJournal implements AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(ReportJournal.class);
+
+  private final Path path;
+  private final ObjectMapper mapper;
+  private final boolean fsync;
+  private FileChannel channel;
+  // P escritos sin su D: solo estos cuentan para vaciar el journal
+  private final Set<String> outstanding = new HashSet<>();
+
+  ReportJournal(Path path, ObjectMapper mapper, boolean fsync) {
+    this.path = path;
+    this.mapper = mapper;
+    this.fsync = fsync;
+  }
+
+  /** Pendientes de una ejecución anterior; reescribe el journal solo con ellos. */
+  synchronized List<ReportWriteBehind.Pending> recover() throws IOException {
+    Map<String, ReportWriteBehind.Pending> pending = new LinkedHashMap<>();
+    Set<String> done = new HashSet<>();
+    if (Files.exists(path)) {
+      // InputStreamReader reemplaza los bytes inválidos (un carácter cortado al final)
+      try (
+        BufferedReader in = new BufferedReader(
+          new InputStreamReader(Files.newInputStream(path), StandardCharsets.UTF_8)
+        )
+      ) {
+        String line;
+        while ((line = in.readLine()) != null) {
+          if (line.startsWith("P ")) {
+            try {
+              var p = mapper.readValue(line.substring(2), ReportWriteBehind.Pending.class);
+              pending.put(p.trackingId(), p);
+            } catch (JsonProcessingException e) {
+              // Línea P truncada por una caída a mitad de escritura: se descarta
+              log.warn("Línea ilegible en el journal {}, se descarta", path);
+            }
+          } else if (line.startsWith("D ")) {
+            done.add(line.substring(2));
+          }
+          // Cualquier otra línea truncada por una caída: se ignora
+        }
+      } catch (IOException e) {
+        // Cola parcialmente legible: nos quedamos con lo que se pudo leer
+        if (pending.isEmpty()) throw e;
+      }
+    }
+    done.forEach(pending::remove);
+    List<ReportWriteBehind.Pending> left = new ArrayList<>(pending.values());
+
+    Files.createDirectories(path.toAbsolutePath().getParent());
+    Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+    try (
+      FileChannel out = FileChannel.open(
+        tmp,
+        StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING,
+        StandardOpenOption.WRITE
+      )
+    ) {
+      for (var p : left) write(out, "P " + mapper.writeValueAsString(p));
+      out.force(true);
+    }
+    Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+    channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    outstanding.clear();
+    for (var p : left) outstanding.add(p.trackingId());
+    return left;
+  }
+
+  synchronized void appended(ReportWriteBehind.Pending p) throws IOException {
+    write(channel, "P " + mapper.writeValueAsString(p));
+    if (fsync) channel.force(false);
+    outstanding.add(p.trackingId());
+  }
+
+  synchronized void done(Collection<String> trackingIds) throws IOException {
+    // Un id cuyo P no llegó a escribirse (appended falló) no descuenta nada
+    List<String> written = trackingIds.stream().filter(outstanding::contains).toList();
+    if (written.isEmpty()) return;
+    StringBuilder sb = new StringBuilder();
+    for (String id : written) sb.append("D ").append(id).append('\n');
+    ByteBuffer buf = ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.UTF_8));
+    while (buf.hasRemaining()) channel.write(buf);
+    written.forEach(outstanding::remove);
+    // Nada pendiente: el journal vuelve a cero en vez de crecer sin fin
+    if (outstanding.isEmpty()) channel.truncate(0);
+    if (fsync) channel.force(false);
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    if (channel != null) channel.close();
+  }
+
+  private static void write(FileChannel ch, String line) throws IOException {
+    ByteBuffer buf = ByteBuffer.wrap((line + "\n").getBytes(StandardCharsets.UTF_8));
+    while (buf.hasRemaining()) ch.write(buf);
+  }
+}
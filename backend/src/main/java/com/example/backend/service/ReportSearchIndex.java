@@ -0,0 +1,199 @@
+package com.example.backend.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import org.springframework.stereotype.Component;
+
+/**
+ * Índice invertido en memoria sobre título y descripción de los reportes.
+ * Ranking BM25; los términos del título pesan {@link #TITLE_WEIGHT} veces más.
+ * Lecturas concurrentes, escrituras serializadas con un read/write lock.
+ * Es un bean aparte (sin repositorios) para que ReportRemovalListener pueda
+ * quitar los reportes borrados en cascada.
+ */
+@Component
+public class ReportSearchIndex {
+
+  public record Hit(long reportId, double score) {}
+
+  public record Result(int total, List<Hit> hits) {}
+
+  private record Doc(Long departmentId, Long employeeId, int length, Map<String, Integer> tf) {}
+
+  private static final int TITLE_WEIGHT = 3;
+  private static final double K1 = 1.2;
+  private static final double B = 0.75;
+  private static final Pattern SPLIT = Pattern.compile("[^\\p{L}\\p{N}]+");
+  private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+  // término -> (reportId -> frecuencia ponderada)
+  private Map<String, Map<Long, Integer>> postings = new HashMap<>();
+  private Map<Long, Doc> docs = new HashMap<>();
+  private long totalLength;
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+  // Cambios que llegan mientras se reconstruye: se repiten sobre el índice nuevo
+  private List<Consumer<ReportSearchIndex>> replay;
+
+  public void index(
+    long reportId,
+    String title,
+    String description,
+    Long departmentId,
+    Long employeeId
+  ) {
+    Map<String, Integer> tf = new HashMap<>();
+    for (String t : tokenize(title)) tf.merge(t, TITLE_WEIGHT, Integer::sum);
+    for (String t : tokenize(description)) tf.merge(t, 1, Integer::sum);
+    int length = tf.values().stream().mapToInt(Integer::intValue).sum();
+
+    lock.writeLock().lock();
+    try {
+      removeLocked(reportId);
+      docs.put(reportId, new Doc(departmentId, employeeId, length, tf));
+      totalLength += length;
+      tf.forEach((term, f) ->
+        postings.computeIfAbsent(term, k -> new HashMap<>()).put(reportId, f)
+      );
+      if (replay != null) {
+        replay.add(i -> i.index(reportId, title, description, departmentId, employeeId));
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public void remove(long reportId) {
+    lock.writeLock().lock();
+    try {
+      removeLocked(reportId);
+      if (replay != null) replay.add(i -> i.remove(reportId));
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Carga un índice nuevo con {@code load} y lo publica de una vez. Mientras
+   * carga las búsquedas siguen sobre el actual, y los index/remove que llegan
+   * se aplican a los dos, así un commit concurrente no se pierde.
+   */
+  public synchronized void rebuild(Consumer<ReportSearchIndex> load) {
+    lock.writeLock().lock();
+    try {
+      replay = new ArrayList<>();
+    } finally {
+      lock.writeLock().unlock();
+    }
+
+    ReportSearchIndex fresh = new ReportSearchIndex();
+    try {
+      load.accept(fresh);
+    } catch (RuntimeException e) {
+      lock.writeLock().lock();
+      try {
+        replay = null; // se conserva el índice actual
+      } finally {
+        lock.writeLock().unlock();
+      }
+      throw e;
+    }
+
+    lock.writeLock().lock();
+    try {
+      List<Consumer<ReportSearchIndex>> pending = replay;
+      replay = null;
+      pending.forEach(change -> change.accept(fresh));
+      postings = fresh.postings;
+      docs = fresh.docs;
+      totalLength = fresh.totalLength;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return docs.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Filtros opcionales (null = sin filtro); devuelve la página pedida ya ordenada. */
+  public Result search(
+    String query,
+    Long departmentId,
+    Long employeeId,
+    int offset,
+    int limit
+  ) {
+    List<String> terms = tokenize(query);
+    if (terms.isEmpty()) return new Result(0, List.of());
+
+    Map<Long, Double> scores = new HashMap<>();
+    lock.readLock().lock();
+    try {
+      int n = docs.size();
+      double avgLength = n > 0 ? (double) totalLength / n : 0;
+      for (String term : terms.stream().distinct().toList()) {
+        Map<Long, Integer> posting = postings.get(term);
+        if (posting == null) continue;
+        double idf = Math.log(1 + (n - posting.size() + 0.5) / (posting.size() + 0.5));
+        for (var e : posting.entrySet()) {
+          Doc doc = docs.get(e.getKey());
+          if (departmentId != null && !departmentId.equals(doc.departmentId())) continue;
+          if (employeeId != null && !employeeId.equals(doc.employeeId())) continue;
+          double f = e.getValue();
+          double norm = K1 * (1 - B + B * doc.length() / avgLength);
+          scores.merge(e.getKey(), idf * f * (K1 + 1) / (f + norm), Double::sum);
+        }
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+
+    List<Hit> ranked = new ArrayList<>(scores.size());
+    scores.forEach((id, s) -> ranked.add(new Hit(id, s)));
+    ranked.sort(
+      Comparator.comparingDouble(Hit::score).reversed().thenComparingLong(Hit::reportId)
+    );
+    int from = Math.min(offset, ranked.size());
+    int to = Math.min(from + limit, ranked.size());
+    return new Result(ranked.size(), List.copyOf(ranked.subList(from, to)));
+  }
+
+  // Minúsculas, sin acentos, separado por todo lo que no sea letra o dígito
+  static List<String> tokenize(String text) {
+    if (text == null || text.isBlank()) return List.of();
+    String folded = MARKS
+      .matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+      .replaceAll("")
+      .toLowerCase(Locale.ROOT);
+    List<String> out = new ArrayList<>();
+    for (String t : SPLIT.split(folded)) {
+      if (t.length() >= 2) out.add(t);
+    }
+    return out;
+  }
+
+  private void removeLocked(long reportId) {
+    Doc old = docs.remove(reportId);
+    if (old == null) return;
+    totalLength -= old.length();
+    for (String term : old.tf().keySet()) {
+      Map<Long, Integer> posting = postings.get(term);
+      if (posting == null) continue;
+      posting.remove(reportId);
+      if (posting.isEmpty()) postings.remove(term);
+    }
+  }
+}
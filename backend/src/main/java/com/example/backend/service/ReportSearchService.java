@@ -0,0 +1,128 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.ReportDTO;
+import com.example.backend.dto.ReportSearchResult;
+import com.example.backend.models.Employee;
+import com.example.backend.repository.EmployeeRepository;
+import com.example.backend.repository.PerformanceReportRepository;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Service
+public class ReportSearchService {
+
+  private final ReportSearchIndex index;
+  private final PerformanceReportRepository repo;
+  private final EmployeeRepository empRepo;
+  private final Pagination pagination;
+  private final boolean rebuildOnStartup;
+
+  public ReportSearchService(
+    ReportSearchIndex index,
+    PerformanceReportRepository repo,
+    EmployeeRepository empRepo,
+    Pagination pagination,
+    @Value("${app.search.rebuild-on-startup:true}") boolean rebuildOnStartup
+  ) {
+    this.index = index;
+    this.repo = repo;
+    this.empRepo = empRepo;
+    this.pagination = pagination;
+    this.rebuildOnStartup = rebuildOnStartup;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional(readOnly = true)
+  public void onStartup() {
+    if (rebuildOnStartup) rebuild();
+  }
+
+  // Reconstruye el índice leyendo la tabla en streaming, sin vaciar el actual
+  @Transactional(readOnly = true)
+  public void rebuild() {
+    index.rebuild(fresh -> {
+      try (Stream<ReportDTO> rows = repo.streamAll()) {
+        rows.forEach(r -> index(fresh, r));
+      }
+    });
+  }
+
+  // Solo cambios confirmados llegan al índice. Los borrados (también en
+  // cascada y por archivado) los quita ReportRemovalListener
+  @TransactionalEventListener
+  public void onReportChanged(ReportChangedEvent event) {
+    if (event.type() == ReportChangedEvent.Type.DELETED) {
+      index.remove(event.report().getId());
+    } else {
+      index(index, event.report());
+    }
+  }
+
+  /**
+   * Búsqueda rankeada. Un EMPLOYEE solo ve sus propios reportes; los
+   * resultados se hidratan desde la BD, así que una entrada que aún no se
+   * quitó del índice (borrado sin confirmar) simplemente no aparece.
+   */
+  @Transactional(readOnly = true)
+  public ReportSearchResult search(
+    String q,
+    Long departmentId,
+    Integer page,
+    Integer size
+  ) {
+    Authentication auth = SecurityContextHolder.getContext()
+      .getAuthentication();
+    boolean isAdmin = auth
+      .getAuthorities()
+      .stream()
+      .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+    Long employeeId = null;
+    if (!isAdmin) {
+      Employee emp = empRepo.findByEmail(auth.getName()).orElseThrow();
+      employeeId = emp.getId();
+    }
+
+    int n = pagination.size(size);
+    int p = page != null && page > 0 ? page : 0;
+    // En long: una página enorme no desborda; pasado el final sale vacía
+    int offset = (int) Math.min((long) p * n, Integer.MAX_VALUE);
+    var result = index.search(q, departmentId, employeeId, offset, n);
+
+    List<Long> ids = result.hits().stream().map(ReportSearchIndex.Hit::reportId).toList();
+    Map<Long, ReportDTO> byId = ids.isEmpty()
+      ? Map.of()
+      : repo
+        .findDtosByIdIn(ids)
+        .stream()
+        .collect(Collectors.toMap(ReportDTO::getId, Function.identity()));
+
+    List<ReportSearchResult.Hit> hits = result
+      .hits()
+      .stream()
+      .filter(h -> byId.containsKey(h.reportId()))
+      .map(h -> new ReportSearchResult.Hit(h.score(), byId.get(h.reportId())))
+      .toList();
+    return new ReportSearchResult(result.total(), p, n, hits);
+  }
+
+  private static void index(ReportSearchIndex target, ReportDTO r) {
+    target.index(
+      r.getId(),
+      r.getTitle(),
+      r.getDescription(),
+      r.getDepartmentId(),
+      r.getEmployeeId()
+    );
+  }
+}
@@ -1,31 +1,55 @@
 package com.example.backend.service;
 
+import com.example.backend.dto.CursorPage;
 import com.example.backend.dto.ReportDTO;
 import com.example.backend.models.Employee;
 import com.example.backend.models.PerformanceReport;
 import com.example.backend.repository.EmployeeRepository;
 import com.example.backend.repository.PerformanceReportRepository;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
 @Service
 public class ReportService {
 
   private final PerformanceReportRepository repo;
   private final EmployeeRepository empRepo;
+  private final Pagination pagination;
+  private final DepartmentPerformanceService rollups;
+  private final ApplicationEventPublisher events;
+  private final DepartmentCache departments;
+  private final ReportArchive archive;
 
   public ReportService(
     PerformanceReportRepository repo,
-    EmployeeRepository empRepo
+    EmployeeRepository empRepo,
+    Pagination pagination,
+    DepartmentPerformanceService rollups,
+    ApplicationEventPublisher events,
+    DepartmentCache departments,
+    ReportArchive archive
   ) {
     this.repo = repo;
     this.empRepo = empRepo;
+    this.pagination = pagination;
+    this.rollups = rollups;
+    this.events = events;
+    this.departments = departments;
+    this.archive = archive;
   }
 
   // Crear reporte
+  @Transactional
   public ReportDTO create(ReportDTO dto) {
     Authentication auth = SecurityContextHolder.getContext()
       .getAuthentication();
@@ -40,30 +64,98 @@ public class ReportService {
     report.setCreatedAt(Instant.now());
 
     repo.save(report);
-    return toDto(report);
+    rollups.onCreated(deptId(report), report.getScore(), report.getCreatedAt());
+    ReportDTO created = toDto(report);
+    publish(ReportChangedEvent.Type.CREATED, created, null);
+    return created;
   }
 
   // Reportes del usuario autenticado
-  public List<ReportDTO> myReports() {
+  // Transacción corta de solo lectura: la conexión vuelve al pool antes de serializar
+  @Transactional(readOnly = true)
+  public CursorPage<ReportDTO> myReports(String cursor, Integer size) {
     Authentication auth = SecurityContextHolder.getContext()
       .getAuthentication();
     Employee emp = empRepo.findByEmail(auth.getName()).orElseThrow();
 
-    return repo
-      .findByEmployee_Id(emp.getId())
-      .stream()
-      .map(this::toDto)
-      .toList();
+    int n = pagination.size(cursor, size);
+    KeysetCursor from = KeysetCursor.parse(cursor);
+    List<ReportDTO> rows = repo.findPageByEmployee(
+      emp.getId(),
+      from.createdAt(),
+      from.id(),
+      pagination.probe(n)
+    );
+    rows = merge(archive.pageByEmployee(emp.getId(), from, n + 1), rows, n + 1);
+    return pagination.page(rows, n, dto -> dto, this::cursorOf);
   }
 
   // Reportes por departamento (ADMIN)
-  public List<ReportDTO> byDepartment(Long deptId) {
-    return repo.findByDepartment_Id(deptId).stream().map(this::toDto).toList();
+  @Transactional(readOnly = true)
+  public CursorPage<ReportDTO> byDepartment(
+    Long deptId,
+    String cursor,
+    Integer size
+  ) {
+    int n = pagination.size(cursor, size);
+    KeysetCursor from = KeysetCursor.parse(cursor);
+    List<ReportDTO> rows = repo.findPageByDepartment(
+      deptId,
+      from.createdAt(),
+      from.id(),
+      pagination.probe(n)
+    );
+    rows = merge(archive.pageByDepartment(deptId, from, n + 1), rows, n + 1);
+    return pagination.page(rows, n, dto -> dto, this::cursorOf);
+  }
+
+  /**
+   * Une dos páginas ya ordenadas por (createdAt, id): la del archivo y la de la
+   * tabla. Normalmente lo archivado es todo anterior, pero no se asume. Si un id
+   * aparece en ambas (archivado sin confirmar) gana la fila viva.
+   */
+  static List<ReportDTO> merge(
+    List<ReportDTO> archived,
+    List<ReportDTO> live,
+    int limit
+  ) {
+    if (archived.isEmpty()) return live;
+    Set<Long> liveIds = new HashSet<>();
+    for (ReportDTO r : live) liveIds.add(r.getId());
+
+    List<ReportDTO> out = new ArrayList<>(
+      Math.min(limit, archived.size() + live.size())
+    );
+    int a = 0;
+    int l = 0;
+    while (out.size() < limit && (a < archived.size() || l < live.size())) {
+      if (a < archived.size() && liveIds.contains(archived.get(a).getId())) {
+        a++;
+      } else if (
+        l >= live.size() ||
+        (a < archived.size() && compare(archived.get(a), live.get(l)) < 0)
+      ) {
+        out.add(archived.get(a++));
+      } else {
+        out.add(live.get(l++));
+      }
+    }
+    return out;
+  }
+
+  private static int compare(ReportDTO x, ReportDTO y) {
+    int c = Instant.parse(x.getCreatedAt()).compareTo(Instant.parse(y.getCreatedAt()));
+    return c != 0 ? c : Long.compare(x.getId(), y.getId());
+  }
+
+  private String cursorOf(ReportDTO r) {
+    return KeysetCursor.of(Instant.parse(r.getCreatedAt()), r.getId());
   }
 
   // Actualizar
+  @Transactional
   public ReportDTO update(Long id, ReportDTO dto) {
-    PerformanceReport report = repo.findById(id).orElseThrow();
+    PerformanceReport report = repo.findById(id).orElseThrow(() -> notFound(id));
 
     Authentication auth = SecurityContextHolder.getContext()
       .getAuthentication();
@@ -81,31 +173,62 @@ public class ReportService {
     if (dto.getDescription() != null) report.setDescription(
       dto.getDescription()
     );
+    int oldScore = report.getScore();
     if (dto.getScore() != null) report.setScore(dto.getScore());
 
-    repo.save(report);
-    return toDto(report);
+    // flush antes del rollup: si hay que recalcular min/max debe ver el nuevo score
+    repo.saveAndFlush(report);
+    rollups.onScoreChanged(deptId(report), oldScore, report.getScore());
+    ReportDTO updated = toDto(report);
+    publish(ReportChangedEvent.Type.UPDATED, updated, oldScore);
+    return updated;
   }
 
   // Eliminar
+  @Transactional
   public void delete(Long id) {
-    repo.deleteById(id);
+    PerformanceReport report = repo.findById(id).orElseThrow(() -> notFound(id));
+    ReportDTO last = toDto(report);
+    repo.delete(report);
+    repo.flush();
+    rollups.onRemoved(deptId(report), report.getScore(), report.getCreatedAt());
+    publish(ReportChangedEvent.Type.DELETED, last, null);
+  }
+
+  // Tampoco se encuentran los archivados: el archivo es de solo lectura
+  private static ResponseStatusException notFound(Long id) {
+    return new ResponseStatusException(
+      HttpStatus.NOT_FOUND,
+      "Reporte " + id + " no encontrado (o archivado)"
+    );
+  }
+
+  private void publish(
+    ReportChangedEvent.Type type,
+    ReportDTO report,
+    Integer previousScore
+  ) {
+    events.publishEvent(new ReportChangedEvent(type, report, previousScore));
+  }
+
+  private Long deptId(PerformanceReport r) {
+    return r.getDepartment() != null ? r.getDepartment().getId() : null;
   }
 
   // Convertir entidad -> DTO
-  private ReportDTO toDto(PerformanceReport r) {
+  public ReportDTO toDto(PerformanceReport r) {
     ReportDTO dto = new ReportDTO();
     dto.setId(r.getId());
     dto.setTitle(r.getTitle());
     dto.setDescription(r.getDescription());
     dto.setScore(r.getScore());
     dto.setEmployeeId(r.getEmployee().getId());
-    dto.setDepartmentId(r.getDepartment().getId());
+    dto.setDepartmentId(deptId(r));
     dto.setCreatedAt(r.getCreatedAt().toString());
 
     // 👇 Aquí llenas los nombres
     dto.setEmployeeName(r.getEmployee().getFullName());
-    dto.setDepartmentName(r.getDepartment().getName());
+    dto.setDepartmentName(departments.name(deptId(r)));
 
     return dto;
   }
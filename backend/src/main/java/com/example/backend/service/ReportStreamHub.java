@@ -0,0 +1,241 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.ReportDTO;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Difusión SSE de cambios de reportes por departamento.
+ *
+ * Cada departamento tiene un buffer circular sin locks: quien publica solo
+ * reserva una secuencia y escribe el slot, nunca espera a los suscriptores.
+ * Cada suscriptor lleva su propio cursor y se drena en un virtual thread.
+ * Si un suscriptor lento queda más de un buffer atrás, se le manda un
+ * evento "resync" (recargar la lista) y salta al final: los cambios se
+ * coalescen en vez de acumularse.
+ *
+ * Los ids de evento llevan el epoch de arranque ("epoch-seq"): un
+ * Last-Event-ID de otro proceso o ya fuera del buffer también recibe
+ * "resync", nunca un hueco silencioso.
+ */
+@Component
+public class ReportStreamHub {
+
+  private record Slot(long seq, String type, ReportDTO report) {}
+
+  private final class Channel {
+
+    final AtomicReferenceArray<Slot> ring = new AtomicReferenceArray<>(bufferSize);
+    final AtomicLong tail = new AtomicLong();
+    final CopyOnWriteArrayList<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    void publish(String type, ReportDTO report) {
+      long seq = tail.incrementAndGet();
+      ring.set((int) (seq & mask), new Slot(seq, type, report));
+      for (Subscriber s : subscribers) s.schedule();
+    }
+  }
+
+  private final class Subscriber {
+
+    final Channel channel;
+    final SseEmitter emitter;
+    final AtomicBoolean draining = new AtomicBoolean();
+    final AtomicBoolean closed = new AtomicBoolean();
+    volatile long cursor;
+
+    // Lo perdido no está en el buffer: lo primero que recibe es "resync"
+    volatile boolean resync;
+
+    Subscriber(Channel channel, SseEmitter emitter, long cursor, boolean resync) {
+      this.channel = channel;
+      this.emitter = emitter;
+      this.cursor = cursor;
+      this.resync = resync;
+    }
+
+    // A lo sumo un drenado en curso por suscriptor
+    void schedule() {
+      if (closed.get() || !draining.compareAndSet(false, true)) return;
+      try {
+        delivery.execute(this::drain);
+      } catch (RejectedExecutionException e) {
+        draining.set(false);
+      }
+    }
+
+    void drain() {
+      try {
+        while (!closed.get()) {
+          long target = channel.tail.get();
+          if (resync) {
+            emitter.send(SseEmitter.event().id(eventId(target)).name("resync").data(""));
+            resync = false;
+            cursor = target;
+            continue;
+          }
+          long next = cursor + 1;
+          if (next > target) break;
+
+          Slot slot = channel.ring.get((int) (next & mask));
+          if (target - cursor > bufferSize || (slot != null && slot.seq() > next)) {
+            // Demasiado atrás: un solo aviso en lugar de todo lo perdido
+            resync = true;
+            continue;
+          }
+          if (slot == null || slot.seq() < next) break; // aún se está escribiendo
+          emitter.send(
+            SseEmitter.event().id(eventId(next)).name(slot.type()).data(slot.report())
+          );
+          cursor = next;
+        }
+      } catch (IOException | IllegalStateException e) {
+        close();
+        return;
+      } finally {
+        draining.set(false);
+      }
+      recheck();
+    }
+
+    void ping() {
+      if (closed.get() || !draining.compareAndSet(false, true)) return;
+      try {
+        delivery.execute(() -> {
+          try {
+            emitter.send(SseEmitter.event().comment("ping"));
+          } catch (IOException | IllegalStateException e) {
+            close();
+          } finally {
+            draining.set(false);
+          }
+          recheck();
+        });
+      } catch (RejectedExecutionException e) {
+        draining.set(false);
+      }
+    }
+
+    // Lo publicado mientras teníamos el flag (drenado o ping) no se queda sin entregar
+    private void recheck() {
+      if (!closed.get() && (resync || cursor < channel.tail.get())) schedule();
+    }
+
+    void close() {
+      if (!closed.compareAndSet(false, true)) return;
+      channel.subscribers.remove(this);
+      count.decrementAndGet();
+      emitter.complete();
+    }
+  }
+
+  private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+  private final int bufferSize;
+  private final int mask;
+  private final int maxSubscribers;
+  private final long timeoutMs;
+  private final Map<Long, Channel> channels = new ConcurrentHashMap<>();
+  private final AtomicInteger count = new AtomicInteger();
+  // Un suscriptor en espera no ocupa hilo (async servlet); solo el envío usa uno virtual
+  private final ExecutorService delivery = Executors.newVirtualThreadPerTaskExecutor();
+
+  public ReportStreamHub(
+    @Value("${app.reports.stream.buffer-size:256}") int bufferSize,
+    @Value("${app.reports.stream.max-subscribers:10000}") int maxSubscribers,
+    @Value("${app.reports.stream.timeout-ms:1800000}") long timeoutMs
+  ) {
+    this.bufferSize = Integer.highestOneBit(Math.max(2, bufferSize - 1)) << 1;
+    this.mask = this.bufferSize - 1;
+    this.maxSubscribers = maxSubscribers;
+    this.timeoutMs = timeoutMs;
+  }
+
+  /**
+   * Nueva suscripción al departamento. Con Last-Event-ID se reenvía lo que
+   * siga en el buffer; si ya no está (o es de otro arranque), el cliente
+   * recibe "resync".
+   * @throws RejectedExecutionException si se alcanzó max-subscribers
+   */
+  public SseEmitter subscribe(Long departmentId, String lastEventId) {
+    if (count.incrementAndGet() > maxSubscribers) {
+      count.decrementAndGet();
+      throw new RejectedExecutionException("Demasiadas suscripciones");
+    }
+    Channel channel = channels.computeIfAbsent(departmentId, id -> new Channel());
+    SseEmitter emitter = new SseEmitter(timeoutMs);
+
+    long tail = channel.tail.get();
+    long seen = lastEventId != null ? sequenceOf(lastEventId) : tail;
+    // El ring guarda las últimas bufferSize secuencias: seen + 1 tiene que seguir ahí
+    boolean replayable = seen >= 0 && seen <= tail && tail - seen <= bufferSize;
+    Subscriber sub = new Subscriber(channel, emitter, replayable ? seen : tail, !replayable);
+    emitter.onCompletion(sub::close);
+    emitter.onTimeout(sub::close);
+    emitter.onError(e -> sub.close());
+    channel.subscribers.add(sub);
+    sub.schedule();
+    return emitter;
+  }
+
+  // Solo cambios confirmados; corre en el hilo que hizo commit y no bloquea.
+  // Se publica aunque no haya nadie conectado: un cliente que reconecta con
+  // Last-Event-ID tiene que encontrar lo que pasó mientras tanto
+  @TransactionalEventListener
+  public void onReportChanged(ReportChangedEvent event) {
+    Long deptId = event.report().getDepartmentId();
+    if (deptId == null) return;
+    Channel channel = channels.get(deptId);
+    if (channel == null) return;
+    channel.publish(event.type().name().toLowerCase(), event.report());
+  }
+
+  // Mantiene abiertos proxies y detecta conexiones muertas
+  @Scheduled(fixedDelayString = "${app.reports.stream.heartbeat-ms:25000}")
+  public void heartbeat() {
+    for (Channel c : channels.values()) {
+      for (Subscriber s : c.subscribers) s.ping();
+    }
+  }
+
+  private String eventId(long seq) {
+    return epoch + "-" + seq;
+  }
+
+  // -1 si el id no es de este arranque o no se entiende
+  private long sequenceOf(String eventId) {
+    int sep = eventId.lastIndexOf('-');
+    if (sep <= 0 || !eventId.substring(0, sep).equals(epoch)) return -1;
+    try {
+      return Long.parseLong(eventId.substring(sep + 1));
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  public int subscribers() {
+    return count.get();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    for (Channel c : channels.values()) {
+      for (Subscriber s : c.subscribers) s.close();
+    }
+    delivery.shutdownNow();
+  }
+}
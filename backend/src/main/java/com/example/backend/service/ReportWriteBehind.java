@@ -0,0 +1,326 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.AsyncReportStatus;
+import com.example.backend.dto.AsyncReportStatus.Status;
+import com.example.backend.dto.BulkReportItem;
+import com.example.backend.dto.BulkReportResult;
+import com.example.backend.dto.ReportDTO;
+import com.example.backend.security.JwtPrincipal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+/**
+ * Escritura diferida de POST /reports (opcional, "Prefer: respond-async").
+ * La petición solo encola y responde 202 con un tracking id; un único hilo
+ * escritor vacía la cola en lotes y los inserta con ReportBulkService
+ * (una transacción y un executeBatch por lote, empleados resueltos de una vez).
+ * Cola acotada: si está llena se rechaza y el cliente reintenta (503).
+ */
+@Service
+public class ReportWriteBehind {
+
+  private static final Logger log = LoggerFactory.getLogger(ReportWriteBehind.class);
+
+  // Lo que viaja por la cola (y por el journal)
+  public record Pending(
+    String trackingId,
+    Long employeeId,
+    String employeeEmail,
+    String title,
+    String description,
+    Integer score,
+    Instant submittedAt
+  ) {}
+
+  private static final class Ticket {
+
+    final String email;
+    final Instant submittedAt;
+    volatile Status status = Status.QUEUED;
+    volatile Long reportId;
+    volatile String error;
+    volatile long finishedAtMs;
+
+    Ticket(String email, Instant submittedAt) {
+      this.email = email;
+      this.submittedAt = submittedAt;
+    }
+  }
+
+  private final ReportBulkService bulk;
+  private final ObjectMapper mapper;
+  private final boolean enabled;
+  private final int batchSize;
+  private final long lingerMs;
+  private final long offerTimeoutMs;
+  private final int maxAttempts;
+  private final long statusTtlMs;
+  private final String journalPath;
+  private final boolean journalFsync;
+
+  private final BlockingQueue<Pending> queue;
+  private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+  private ReportJournal journal;
+  private volatile boolean running;
+  private Thread writer;
+
+  public ReportWriteBehind(
+    ReportBulkService bulk,
+    ObjectMapper mapper,
+    @Value("${app.reports.async.enabled:false}") boolean enabled,
+    @Value("${app.reports.async.queue-capacity:10000}") int queueCapacity,
+    @Value("${app.reports.async.batch-size:200}") int batchSize,
+    @Value("${app.reports.async.linger-ms:20}") long lingerMs,
+    @Value("${app.reports.async.offer-timeout-ms:50}") long offerTimeoutMs,
+    @Value("${app.reports.async.max-attempts:3}") int maxAttempts,
+    @Value("${app.reports.async.status-ttl-ms:600000}") long statusTtlMs,
+    @Value("${app.reports.async.journal:}") String journalPath,
+    @Value("${app.reports.async.journal-fsync:false}") boolean journalFsync
+  ) {
+    this.bulk = bulk;
+    this.mapper = mapper;
+    this.enabled = enabled;
+    this.batchSize = batchSize;
+    this.lingerMs = lingerMs;
+    this.offerTimeoutMs = offerTimeoutMs;
+    this.maxAttempts = maxAttempts;
+    this.statusTtlMs = statusTtlMs;
+    this.journalPath = journalPath;
+    this.journalFsync = journalFsync;
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() throws IOException, InterruptedException {
+    if (!enabled) return;
+    List<Pending> recovered = List.of();
+    if (!journalPath.isBlank()) {
+      journal = new ReportJournal(Path.of(journalPath), mapper, journalFsync);
+      recovered = journal.recover();
+    }
+
+    running = true;
+    writer = new Thread(this::drain, "report-writer");
+    writer.setDaemon(true);
+    writer.start();
+
+    for (Pending p : recovered) {
+      tickets.put(p.trackingId(), new Ticket(p.employeeEmail(), p.submittedAt()));
+      // Ya están en el journal: se espera a que haya sitio en vez de rechazarlos
+      queue.put(p);
+    }
+    if (!recovered.isEmpty()) {
+      log.info("Reencolados {} reportes pendientes del journal", recovered.size());
+    }
+  }
+
+  /**
+   * Encola el reporte del usuario autenticado.
+   * @throws RejectedExecutionException si la cola sigue llena tras offer-timeout-ms
+   */
+  public AsyncReportStatus submit(ReportDTO dto) {
+    if (!running) throw new RejectedExecutionException("Escritura diferida no disponible");
+
+    Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+    // Con JWT stateless el id viene en el token; si no, el escritor resuelve por email
+    Long employeeId = auth.getPrincipal() instanceof JwtPrincipal p ? p.getId() : null;
+    Pending pending = new Pending(
+      UUID.randomUUID().toString(),
+      employeeId,
+      auth.getName(),
+      dto.getTitle(),
+      dto.getDescription(),
+      dto.getScore(),
+      Instant.now()
+    );
+    Ticket ticket = new Ticket(auth.getName(), pending.submittedAt());
+    tickets.put(pending.trackingId(), ticket);
+
+    // Primero al journal: si la cola lo rechaza se anula con su línea D
+    journalAppend(pending);
+    boolean accepted;
+    try {
+      accepted = queue.offer(pending, offerTimeoutMs, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      accepted = false;
+    }
+    if (!accepted) {
+      tickets.remove(pending.trackingId());
+      journalDone(List.of(pending.trackingId()));
+      throw new RejectedExecutionException("Cola de reportes llena");
+    }
+    return toStatus(pending.trackingId(), ticket);
+  }
+
+  // Solo el dueño o un ADMIN; para el resto el id no existe
+  public Optional<AsyncReportStatus> status(String trackingId) {
+    Ticket ticket = tickets.get(trackingId);
+    if (ticket == null) return Optional.empty();
+
+    Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+    boolean isAdmin = auth
+      .getAuthorities()
+      .stream()
+      .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+    if (!isAdmin && !ticket.email.equals(auth.getName())) return Optional.empty();
+    return Optional.of(toStatus(trackingId, ticket));
+  }
+
+  public int queued() {
+    return queue.size();
+  }
+
+  public int remainingCapacity() {
+    return queue.remainingCapacity();
+  }
+
+  // Los estados terminados se guardan un rato para que el cliente los consulte
+  @Scheduled(fixedDelay = 60000)
+  public void evictFinished() {
+    long cutoff = System.currentTimeMillis() - statusTtlMs;
+    tickets.values().removeIf(t -> t.finishedAtMs != 0 && t.finishedAtMs < cutoff);
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException, IOException {
+    running = false;
+    if (writer != null) writer.join(10_000);
+    if (journal != null) journal.close();
+  }
+
+  // ---- hilo escritor ----
+
+  private void drain() {
+    List<Pending> batch = new ArrayList<>(batchSize);
+    // Al parar se vacía lo que quede antes de salir
+    while (running || !queue.isEmpty()) {
+      try {
+        Pending first = queue.poll(200, TimeUnit.MILLISECONDS);
+        if (first == null) continue;
+        batch.add(first);
+        // Espera breve para juntar un lote más grande en los picos
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+        while (batch.size() < batchSize) {
+          queue.drainTo(batch, batchSize - batch.size());
+          long left = deadline - System.nanoTime();
+          if (batch.size() >= batchSize || left <= 0) break;
+          Pending next = queue.poll(left, TimeUnit.NANOSECONDS);
+          if (next == null) break;
+          batch.add(next);
+        }
+        write(batch);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (RuntimeException e) {
+        log.error("Error en el escritor de reportes", e);
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  private void write(List<Pending> batch) throws InterruptedException {
+    List<BulkReportItem> items = new ArrayList<>(batch.size());
+    for (Pending p : batch) {
+      items.add(
+        BulkReportItem.builder()
+          .employeeId(p.employeeId())
+          .employeeEmail(p.employeeEmail())
+          .title(p.title())
+          .description(p.description())
+          .score(p.score())
+          .build()
+      );
+    }
+
+    for (int attempt = 1;; attempt++) {
+      try {
+        List<BulkReportResult> results = bulk.ingest(items);
+        for (int i = 0; i < batch.size(); i++) {
+          BulkReportResult r = results.get(i);
+          if (r.getStatus() == BulkReportResult.Status.CREATED) {
+            finish(batch.get(i), Status.CREATED, r.getId(), null);
+          } else {
+            finish(batch.get(i), Status.REJECTED, null, r.getError());
+          }
+        }
+        break;
+      } catch (RuntimeException e) {
+        if (attempt >= maxAttempts) {
+          log.error("Lote de {} reportes descartado tras {} intentos", batch.size(), attempt, e);
+          for (Pending p : batch) finish(p, Status.FAILED, null, "Error al guardar");
+          break;
+        }
+        log.warn("Fallo al guardar lote de {} reportes (intento {})", batch.size(), attempt, e);
+        Thread.sleep(500L * attempt);
+      }
+    }
+    journalDone(batch.stream().map(Pending::trackingId).toList());
+  }
+
+  private void finish(Pending p, Status status, Long reportId, String error) {
+    Ticket t = tickets.get(p.trackingId());
+    if (t == null) return;
+    t.reportId = reportId;
+    t.error = error;
+    t.status = status;
+    t.finishedAtMs = System.currentTimeMillis();
+  }
+
+  private void journalAppend(Pending p) {
+    if (journal == null) return;
+    try {
+      journal.appended(p);
+    } catch (IOException e) {
+      // Sin journal el reporte sigue en la cola; solo se pierde la durabilidad
+      log.warn("No se pudo escribir en el journal de reportes", e);
+    }
+  }
+
+  private void journalDone(List<String> ids) {
+    if (journal == null) return;
+    try {
+      journal.done(ids);
+    } catch (IOException e) {
+      log.warn("No se pudo confirmar en el journal de reportes", e);
+    }
+  }
+
+  private static AsyncReportStatus toStatus(String trackingId, Ticket t) {
+    return new AsyncReportStatus(
+      trackingId,
+      t.status,
+      t.reportId,
+      t.error,
+      t.submittedAt.toString()
+    );
+  }
+}
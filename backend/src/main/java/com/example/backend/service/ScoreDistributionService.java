@@ -0,0 +1,139 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.ReportDTO;
+import com.example.backend.dto.ScoreDistributionDTO;
+import com.example.backend.repository.PerformanceReportRepository;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+@Service
+public class ScoreDistributionService {
+
+  private final ScoreHistograms histograms;
+  private final PerformanceReportRepository repo;
+  private final boolean rebuildOnStartup;
+
+  public ScoreDistributionService(
+    ScoreHistograms histograms,
+    PerformanceReportRepository repo,
+    @Value("${app.distribution.rebuild-on-startup:true}") boolean rebuildOnStartup
+  ) {
+    this.histograms = histograms;
+    this.repo = repo;
+    this.rebuildOnStartup = rebuildOnStartup;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional(readOnly = true)
+  public void onStartup() {
+    if (rebuildOnStartup) rebuild();
+  }
+
+  @Transactional(readOnly = true)
+  public void rebuild() {
+    histograms.clear();
+    for (var row : repo.histogramRows()) {
+      histograms.add(
+        row.getDepartmentId(),
+        YearMonth.of(row.getReportYear(), row.getReportMonth()),
+        row.getScore(),
+        row.getReportCount()
+      );
+    }
+  }
+
+  // Altas y cambios de score; los borrados llegan por ReportRemovalListener
+  @TransactionalEventListener
+  public void onReportChanged(ReportChangedEvent event) {
+    ReportDTO r = event.report();
+    Instant createdAt = r.getCreatedAt() != null ? Instant.parse(r.getCreatedAt()) : null;
+    switch (event.type()) {
+      case CREATED -> histograms.add(r.getDepartmentId(), createdAt, r.getScore(), 1);
+      case UPDATED -> {
+        if (event.previousScore() != null && !event.previousScore().equals(r.getScore())) {
+          histograms.add(r.getDepartmentId(), createdAt, event.previousScore(), -1);
+          histograms.add(r.getDepartmentId(), createdAt, r.getScore(), 1);
+        }
+      }
+      case DELETED -> {}
+    }
+  }
+
+  public ScoreDistributionDTO forDepartment(
+    Long departmentId,
+    YearMonth from,
+    YearMonth to,
+    Integer binWidth
+  ) {
+    return describe(departmentId, from, to, binWidth, histograms.merged(departmentId, from, to));
+  }
+
+  public ScoreDistributionDTO forOrganization(YearMonth from, YearMonth to, Integer binWidth) {
+    return describe(null, from, to, binWidth, histograms.mergedAll(from, to));
+  }
+
+  private static ScoreDistributionDTO describe(
+    Long departmentId,
+    YearMonth from,
+    YearMonth to,
+    Integer binWidth,
+    long[] counts
+  ) {
+    int width = binWidth == null ? 10 : binWidth;
+    if (width < 1 || width > ScoreHistograms.MAX_SCORE) {
+      throw new ResponseStatusException(
+        HttpStatus.BAD_REQUEST,
+        "binWidth debe estar entre 1 y " + ScoreHistograms.MAX_SCORE
+      );
+    }
+
+    long total = 0;
+    long sum = 0;
+    for (int s = 1; s <= ScoreHistograms.MAX_SCORE; s++) {
+      total += counts[s];
+      sum += counts[s] * s;
+    }
+
+    List<ScoreDistributionDTO.Bin> bins = new ArrayList<>();
+    for (int lo = 1; lo <= ScoreHistograms.MAX_SCORE; lo += width) {
+      int hi = Math.min(ScoreHistograms.MAX_SCORE, lo + width - 1);
+      long c = 0;
+      for (int s = lo; s <= hi; s++) c += counts[s];
+      bins.add(new ScoreDistributionDTO.Bin(lo, hi, c));
+    }
+
+    return new ScoreDistributionDTO(
+      departmentId,
+      from != null ? from.toString() : null,
+      to != null ? to.toString() : null,
+      total,
+      total > 0 ? Math.round((double) sum / total * 100) / 100.0 : null,
+      percentile(counts, total, 0.50),
+      percentile(counts, total, 0.90),
+      percentile(counts, total, 0.99),
+      bins
+    );
+  }
+
+  // Menor score cuyo acumulado alcanza ceil(p * total) (nearest-rank)
+  private static Integer percentile(long[] counts, long total, double p) {
+    if (total == 0) return null;
+    long target = Math.max(1, (long) Math.ceil(p * total));
+    long acc = 0;
+    for (int s = 1; s <= ScoreHistograms.MAX_SCORE; s++) {
+      acc += counts[s];
+      if (acc >= target) return s;
+    }
+    return ScoreHistograms.MAX_SCORE;
+  }
+}
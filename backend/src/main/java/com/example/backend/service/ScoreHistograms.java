@@ -0,0 +1,90 @@
+package com.example.backend.service;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.springframework.stereotype.Component;
+
+/**
+ * Histogramas de score por departamento y mes. El score está acotado a
+ * 1–100, así que cada histograma es un array fijo de 101 contadores:
+ * memoria constante, actualización atómica sin locks y mezcla por suma.
+ * Los percentiles que salen de aquí son exactos, no aproximados.
+ *
+ * Sin dependencias de JPA (lo usa ReportRemovalListener).
+ */
+@Component
+public class ScoreHistograms {
+
+  public static final int MAX_SCORE = 100;
+
+  // Reportes sin departamento
+  public static final long NO_DEPARTMENT = 0L;
+
+  // departamento -> (año * 12 + mes) -> contadores por score
+  private final Map<Long, Map<Integer, AtomicLongArray>> histograms = new ConcurrentHashMap<>();
+
+  public void add(Long departmentId, Instant createdAt, int score, long delta) {
+    histogram(departmentId, month(createdAt)).addAndGet(clamp(score), delta);
+  }
+
+  public void add(Long departmentId, YearMonth month, int score, long delta) {
+    histogram(departmentId, index(month)).addAndGet(clamp(score), delta);
+  }
+
+  public void clear() {
+    histograms.clear();
+  }
+
+  /** Suma de los meses [from, to] (null = sin límite) de un departamento. */
+  public long[] merged(long departmentId, YearMonth from, YearMonth to) {
+    long[] out = new long[MAX_SCORE + 1];
+    mergeInto(out, histograms.get(departmentId), from, to);
+    return out;
+  }
+
+  /** Toda la organización: mezcla de todos los departamentos. */
+  public long[] mergedAll(YearMonth from, YearMonth to) {
+    long[] out = new long[MAX_SCORE + 1];
+    for (var byMonth : histograms.values()) mergeInto(out, byMonth, from, to);
+    return out;
+  }
+
+  private static void mergeInto(
+    long[] out,
+    Map<Integer, AtomicLongArray> byMonth,
+    YearMonth from,
+    YearMonth to
+  ) {
+    if (byMonth == null) return;
+    int lo = from != null ? index(from) : Integer.MIN_VALUE;
+    int hi = to != null ? index(to) : Integer.MAX_VALUE;
+    byMonth.forEach((m, h) -> {
+      if (m < lo || m > hi) return;
+      for (int s = 0; s <= MAX_SCORE; s++) out[s] += h.get(s);
+    });
+  }
+
+  private AtomicLongArray histogram(Long departmentId, int month) {
+    long dept = departmentId != null ? departmentId : NO_DEPARTMENT;
+    return histograms
+      .computeIfAbsent(dept, d -> new ConcurrentHashMap<>())
+      .computeIfAbsent(month, m -> new AtomicLongArray(MAX_SCORE + 1));
+  }
+
+  // Fuera de rango (no debería pasar) se acumula en el extremo, igual al sumar que al restar
+  private static int clamp(int score) {
+    return Math.max(1, Math.min(MAX_SCORE, score));
+  }
+
+  private static int month(Instant createdAt) {
+    return index(YearMonth.from((createdAt != null ? createdAt : Instant.EPOCH).atZone(ZoneOffset.UTC)));
+  }
+
+  private static int index(YearMonth ym) {
+    return ym.getYear() * 12 + ym.getMonthValue() - 1;
+  }
+}
@@ -0,0 +1,58 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.ScoreTrendDTO;
+import com.example.backend.repository.PerformanceReportRepository;
+import com.example.backend.repository.PerformanceReportRepository.TrendRow;
+import java.util.List;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+@Service
+public class ScoreTrendService {
+
+  // Fijado en la consulta (rows between 2 preceding and current row)
+  static final int WINDOW = 3;
+
+  private final PerformanceReportRepository repo;
+
+  public ScoreTrendService(PerformanceReportRepository repo) {
+    this.repo = repo;
+  }
+
+  @Transactional(readOnly = true)
+  public ScoreTrendDTO trend(Long employeeId, String bucket) {
+    String unit = unit(bucket);
+    List<ScoreTrendDTO.Point> points = repo
+      .trendByEmployee(employeeId, unit)
+      .stream()
+      .map(ScoreTrendService::toPoint)
+      .toList();
+    return new ScoreTrendDTO(employeeId, unit, WINDOW, points);
+  }
+
+  private static String unit(String bucket) {
+    if (bucket == null || bucket.equalsIgnoreCase("month")) return "month";
+    if (bucket.equalsIgnoreCase("quarter")) return "quarter";
+    throw new ResponseStatusException(
+      HttpStatus.BAD_REQUEST,
+      "bucket debe ser month o quarter"
+    );
+  }
+
+  private static ScoreTrendDTO.Point toPoint(TrendRow r) {
+    return new ScoreTrendDTO.Point(
+      r.getPeriod(),
+      r.getReportCount(),
+      round(r.getMeanScore()),
+      round(r.getMovingAverage()),
+      round(r.getDelta())
+    );
+  }
+
+  // null en los periodos sin reportes
+  private static Double round(Double v) {
+    return v != null ? Math.round(v * 100) / 100.0 : null;
+  }
+}
@@ -0,0 +1,71 @@
+package com.example.backend.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Contador de versión por tabla, base de los ETag de los endpoints de lectura.
+ * Se incrementa después del commit: así un ETag nuevo nunca acompaña datos viejos.
+ * El epoch de arranque entra en el ETag para que un reinicio invalide todo.
+ */
+@Component
+public class TableVersions {
+
+  public enum Table {
+    DEPARTMENTS,
+    EMPLOYEES,
+    REPORTS,
+  }
+
+  private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+  private final AtomicLongArray versions = new AtomicLongArray(
+    Table.values().length
+  );
+
+  public long get(Table table) {
+    return versions.get(table.ordinal());
+  }
+
+  public void bump(Table... tables) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            increment(tables);
+          }
+        }
+      );
+    } else {
+      increment(tables);
+    }
+  }
+
+  // Suma monótona de las versiones: sirve para saber si un snapshot es más nuevo que otro
+  public long stamp(Table[] tables) {
+    long sum = 0;
+    for (Table t : tables) sum += get(t);
+    return sum;
+  }
+
+  /** ETag fuerte: prefijo + epoch + versiones de las tablas + partes extra (p. ej. cursor). */
+  public String etag(String prefix, Table[] tables, Object... parts) {
+    StringBuilder sb = new StringBuilder("\"").append(prefix).append('-').append(epoch);
+    for (Table t : tables) sb.append('-').append(get(t));
+    for (Object p : parts) sb.append('-').append(p != null ? p : "");
+    return sb.append('"').toString();
+  }
+
+  // Ya se ejecuta tras el commit
+  @TransactionalEventListener
+  public void onReportChanged(ReportChangedEvent event) {
+    increment(Table.REPORTS);
+  }
+
+  private void increment(Table... tables) {
+    for (Table t : tables) versions.incrementAndGet(t.ordinal());
+  }
+}
@@ -0,0 +1,36 @@
+package com.example.backend;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Endpoints que exponen scores de otros empleados: solo ADMIN.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AccessControlTests {
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Test
+	@WithMockUser(username = "emp@kconnect.io", roles = "EMPLOYEE")
+	void employeeCannotReadDepartmentLeaderboard() throws Exception {
+		mvc.perform(get("/departments/1/leaderboard")).andExpect(status().isForbidden());
+	}
+
+	@Test
+	@WithMockUser(username = "admin@kconnect.io", roles = "ADMIN")
+	void adminCanReadDepartmentLeaderboard() throws Exception {
+		mvc.perform(get("/departments/1/leaderboard")).andExpect(status().isOk());
+	}
+}
@@ -0,0 +1,207 @@
+package com.example.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.backend.config.SqlBudget;
+import com.example.backend.config.SqlBudgetExceededException;
+import com.example.backend.entity.Role;
+import com.example.backend.models.Department;
+import com.example.backend.models.Employee;
+import com.example.backend.models.PerformanceReport;
+import com.example.backend.repository.DepartmentRepository;
+import com.example.backend.repository.EmployeeRepository;
+import com.example.backend.repository.PerformanceReportRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Con app.sql-budget.mode=fail cualquier endpoint que supere su @SqlBudget
+ * falla, así que un N+1 nuevo rompe estos tests en vez de llegar a producción.
+ * Además se comprueba el número de sentencias que contó RequestSqlStats, leído
+ * de la métrica http.server.requests.sql que registra RequestMetricsFilter.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@WithMockUser(username = "admin@kconnect.io", roles = "ADMIN")
+class QueryBudgetTests {
+
+	private static final int EMPLOYEES = 30;
+	private static final int REPORTS_PER_EMPLOYEE = 3;
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private DepartmentRepository departments;
+
+	@Autowired
+	private EmployeeRepository employees;
+
+	@Autowired
+	private PerformanceReportRepository reports;
+
+	@Autowired
+	private MeterRegistry registry;
+
+	private Long salesId;
+
+	@BeforeAll
+	void seed() {
+		Department sales = departments.save(Department.builder().name("Ventas").build());
+		Department ops = departments.save(Department.builder().name("Operaciones").build());
+		salesId = sales.getId();
+
+		List<PerformanceReport> rows = new ArrayList<>();
+		for (int i = 0; i < EMPLOYEES; i++) {
+			Department dept = i % 2 == 0 ? sales : ops;
+			Employee emp = employees.save(Employee.builder()
+				.fullName("Empleado " + i)
+				.email("emp" + i + "@kconnect.io")
+				.password("x")
+				.role(Role.EMPLOYEE)
+				.department(dept)
+				.build());
+			for (int r = 0; r < REPORTS_PER_EMPLOYEE; r++) {
+				rows.add(report(emp, dept, "Reporte " + i + "-" + r));
+			}
+		}
+
+		Employee admin = employees.findByEmail("admin@kconnect.io").orElseThrow();
+		for (int r = 0; r < 10; r++) {
+			rows.add(report(admin, sales, "Admin " + r));
+		}
+		reports.saveAll(rows);
+	}
+
+	@Test
+	void departmentStatsIsOneQuery() throws Exception {
+		// Otro test puede haber dejado la respuesta en EncodedResponseCache
+		assertThat(statements("/departments/stats", "/departments/stats")).isLessThanOrEqualTo(1);
+		assertThat(statements("/departments/stats", "/departments/stats")).isZero();
+	}
+
+	@Test
+	void departmentListStaysWithinBudget() throws Exception {
+		assertThat(statements("/departments", "/departments")).isLessThanOrEqualTo(1);
+		assertThat(statements("/departments", "/departments")).isZero();
+	}
+
+	@Test
+	void unchangedStatsAnswerNotModified() throws Exception {
+		String etag = mvc.perform(get("/departments/stats"))
+			.andExpect(status().isOk())
+			.andExpect(header().string("Cache-Control", "no-cache, private"))
+			.andReturn().getResponse().getHeader("ETag");
+
+		double before = sqlTotal("/departments/stats");
+		mvc.perform(get("/departments/stats").header("If-None-Match", etag))
+			.andExpect(status().isNotModified());
+		assertThat(sqlTotal("/departments/stats") - before).isZero();
+	}
+
+	@Test
+	void employeeListDoesNotLoadDepartmentsPerRow() throws Exception {
+		// La página más, como mucho, una carga de DepartmentCache por departamento
+		// (los dos del test y el del admin sembrado), nunca una por empleado
+		assertThat(statements("/employees", "/employees")).isBetween(1L, 1 + departments.count());
+	}
+
+	@Test
+	void myReportsStaysWithinBudget() throws Exception {
+		// Empleado autenticado + página de reportes
+		assertThat(statements("/reports", "/reports")).isEqualTo(2);
+	}
+
+	@Test
+	void departmentReportsDoNotLazyLoadAssociations() throws Exception {
+		assertThat(
+			statements("/reports/department/{departmentId}", "/reports/department/" + salesId)
+		).isEqualTo(1);
+	}
+
+	@Test
+	void exceedingTheBudgetFailsTheRequest() {
+		double before = sqlTotal("/test/budget-probe");
+
+		assertThatThrownBy(() -> mvc.perform(get("/test/budget-probe")))
+			.hasRootCauseInstanceOf(SqlBudgetExceededException.class)
+			.rootCause()
+			.hasMessageContaining("2 sentencias (máximo 1)");
+		assertThat(sqlTotal("/test/budget-probe") - before).isEqualTo(2);
+	}
+
+	// Sentencias de una petición GET: lo que sumó RequestSqlStats a la métrica del patrón
+	private long statements(String uri, String path) throws Exception {
+		double before = sqlTotal(uri);
+		mvc.perform(get(path)).andExpect(status().isOk());
+		return Math.round(sqlTotal(uri) - before);
+	}
+
+	private double sqlTotal(String uri) {
+		DistributionSummary summary = registry
+			.find("http.server.requests.sql")
+			.tag("uri", uri)
+			.summary();
+		return summary != null ? summary.totalAmount() : 0;
+	}
+
+	private static PerformanceReport report(Employee emp, Department dept, String title) {
+		return PerformanceReport.builder()
+			.title(title)
+			.description("Descripción de " + title)
+			.score(50)
+			.createdAt(Instant.now())
+			.employee(emp)
+			.department(dept)
+			.build();
+	}
+
+	@TestConfiguration
+	static class ProbeConfig {
+
+		@Bean
+		BudgetProbeController budgetProbeController(DepartmentRepository repo) {
+			return new BudgetProbeController(repo);
+		}
+	}
+
+	// Endpoint de prueba que hace dos consultas con presupuesto de una
+	@RestController
+	static class BudgetProbeController {
+
+		private final DepartmentRepository repo;
+
+		BudgetProbeController(DepartmentRepository repo) {
+			this.repo = repo;
+		}
+
+		@GetMapping("/test/budget-probe")
+		@SqlBudget(1)
+		public long probe() {
+			repo.count();
+			return repo.count();
+		}
+	}
+}
@@ -0,0 +1,137 @@
+package com.example.backend;
+
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.backend.entity.Role;
+import com.example.backend.models.Department;
+import com.example.backend.models.Employee;
+import com.example.backend.models.PerformanceReport;
+import com.example.backend.repository.DepartmentRepository;
+import com.example.backend.repository.EmployeeRepository;
+import com.example.backend.repository.PerformanceReportRepository;
+import com.example.backend.service.DepartmentPerformanceService;
+import com.example.backend.service.ReportSearchService;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * El histórico archivado se sigue listando, pero los agregados cubren solo
+ * la tabla caliente y los reportes archivados son de solo lectura.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(username = "admin@kconnect.io", roles = "ADMIN")
+class ReportArchiveJobTests {
+
+	@TempDir
+	static Path archiveDir;
+
+	@DynamicPropertySource
+	static void archive(DynamicPropertyRegistry registry) {
+		registry.add("app.archive.dir", () -> archiveDir.toString());
+	}
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private DepartmentRepository departments;
+
+	@Autowired
+	private EmployeeRepository employees;
+
+	@Autowired
+	private PerformanceReportRepository reports;
+
+	@Autowired
+	private ReportSearchService search;
+
+	// Sus upserts usan "on conflict" de PostgreSQL, que H2 no entiende
+	@MockitoBean
+	private DepartmentPerformanceService rollups;
+
+	@Test
+	void archivedReportsStayListedButLeaveTheAggregates() throws Exception {
+		Department dept = departments.save(Department.builder().name("Archivo").build());
+		Employee emp = employees.save(Employee.builder()
+			.fullName("Empleada antigua")
+			.email("antigua@kconnect.io")
+			.password("x")
+			.role(Role.EMPLOYEE)
+			.department(dept)
+			.build());
+		Instant old = Instant.now().minus(Duration.ofDays(800));
+		List<PerformanceReport> saved = reports.saveAll(List.of(
+			report(emp, dept, "Viejo 1", 40, old),
+			report(emp, dept, "Viejo 2", 60, old.plusSeconds(1)),
+			report(emp, dept, "Nuevo", 90, Instant.now())
+		));
+		Long archivedId = saved.get(0).getId();
+		search.rebuild();
+
+		mvc.perform(post("/reports/archive/run"))
+			.andExpect(status().isOk())
+			.andExpect(content().string("2"));
+
+		// El listado mezcla archivo y tabla
+		mvc.perform(get("/reports/department/" + dept.getId()))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.length()").value(3));
+
+		// Los agregados se recalculan sobre la tabla y la búsqueda los olvida
+		verify(rollups).rebuild(Set.of(dept.getId()));
+		mvc.perform(get("/reports/search").param("q", "viejo"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.total").value(0));
+		mvc.perform(get("/reports/search").param("q", "nuevo"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.total").value(1));
+
+		// Solo lectura: ni se edita ni se borra
+		mvc.perform(put("/reports/" + archivedId)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"title\":\"Editado\"}"))
+			.andExpect(status().isNotFound());
+		mvc.perform(delete("/reports/" + archivedId)).andExpect(status().isNotFound());
+	}
+
+	private static PerformanceReport report(
+		Employee emp,
+		Department dept,
+		String title,
+		int score,
+		Instant createdAt
+	) {
+		return PerformanceReport.builder()
+			.title(title)
+			.description("Descripción de " + title)
+			.score(score)
+			.createdAt(createdAt)
+			.employee(emp)
+			.department(dept)
+			.build();
+	}
+}
@@ -0,0 +1,42 @@
+package com.example.backend.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import java.util.Date;
+import org.junit.jupiter.api.Test;
+
+class VerifiedTokenCacheTests {
+
+	@Test
+	void aFullCacheEvictsTheLeastRecentlyUsedToken() {
+		VerifiedTokenCache cache = new VerifiedTokenCache(2);
+		cache.put("a", claims("a", 60_000));
+		cache.put("b", claims("b", 60_000));
+		assertThat(cache.get("a")).isNotNull(); // "b" pasa a ser el menos usado
+
+		cache.put("c", claims("c", 60_000));
+
+		assertThat(cache.size()).isEqualTo(2);
+		assertThat(cache.get("a")).isNotNull();
+		assertThat(cache.get("b")).isNull();
+		assertThat(cache.get("c")).isNotNull();
+	}
+
+	@Test
+	void expiredTokensAreNeverServed() {
+		VerifiedTokenCache cache = new VerifiedTokenCache(2);
+		cache.put("a", claims("a", -1_000));
+
+		assertThat(cache.get("a")).isNull();
+		assertThat(cache.size()).isZero();
+		assertThat(cache.misses()).isEqualTo(1);
+	}
+
+	private static Claims claims(String subject, long ttlMs) {
+		Claims claims = Jwts.claims().setSubject(subject);
+		claims.setExpiration(new Date(System.currentTimeMillis() + ttlMs));
+		return claims;
+	}
+}
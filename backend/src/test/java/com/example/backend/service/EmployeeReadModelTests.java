@@ -0,0 +1,138 @@
+package com.example.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.backend.dto.EmployeeDTO;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class EmployeeReadModelTests {
+
+	// Capacidad de la tabla de ubicaciones (LongLongMap(1024) -> 2048 huecos)
+	private static final int LOCATION_MASK = 2047;
+
+	@Test
+	void roundTripsAProfile() {
+		EmployeeReadModel model = new EmployeeReadModel(1024, 4096);
+		model.put(EmployeeDTO.builder().id(5L).fullName("Ana").email("ana@kconnect.io").role("ADMIN").departmentId(2L).build());
+
+		EmployeeDTO dto = model.get(5).orElseThrow();
+		assertThat(dto.getFullName()).isEqualTo("Ana");
+		assertThat(dto.getEmail()).isEqualTo("ana@kconnect.io");
+		assertThat(dto.getRole()).isEqualTo("ADMIN");
+		assertThat(dto.getDepartmentId()).isEqualTo(2L);
+		assertThat(dto.getHireDate()).isNull();
+		assertThat(model.ownedBy(5, "ana@kconnect.io")).isTrue();
+		assertThat(model.ownedBy(6, "ana@kconnect.io")).isFalse();
+		assertThat(model.ownedBy(5, "otro@kconnect.io")).isNull();
+
+		model.remove(5);
+		assertThat(model.get(5)).isEmpty();
+		assertThat(model.ownedBy(5, "ana@kconnect.io")).isNull();
+	}
+
+	@Test
+	void idZeroIsNeverFound() {
+		EmployeeReadModel model = new EmployeeReadModel(1024, 4096);
+		assertThat(model.get(0)).isEmpty();
+
+		model.put(profile(1, 3));
+		assertThat(model.get(0)).isEmpty();
+		assertThat(model.get(-1)).isEmpty();
+	}
+
+	@Test
+	void compactsGarbageAndKeepsTheLatestVersion() {
+		EmployeeReadModel model = new EmployeeReadModel(256, 512);
+		for (long id = 1; id <= 3; id++) model.put(profile(id, 10));
+		for (int v = 0; v < 20; v++) {
+			model.put(EmployeeDTO.builder().id(1L).fullName("version " + v).build());
+		}
+
+		assertThat(model.get(1).orElseThrow().getFullName()).isEqualTo("version 19");
+		assertThat(model.get(2)).isPresent();
+		assertThat(model.get(3)).isPresent();
+		assertThat(model.offHeapBytes()).isLessThanOrEqualTo(512);
+	}
+
+	@Test
+	void compactionThatDoesNotFitEmptiesTheModel() {
+		// Registro = 40 bytes + nombre. Cinco ids que la compactación recorre en este
+		// orden: 41, 60, 41, 60, 41 bytes. Ninguna pareja consecutiva cabe en un
+		// chunk de 100, así que hacen falta 5 chunks y el máximo es 4.
+		List<Long> ids = idsInLocationOrder(5);
+		long a1 = ids.get(0), b1 = ids.get(1), a2 = ids.get(2), b2 = ids.get(3), a3 = ids.get(4);
+		EmployeeReadModel model = new EmployeeReadModel(100, 400);
+		// Al llegar: [a1 a2] [b1 g1] [b2 g2] [a3 g3], los cuatro chunks llenos
+		model.put(profile(a1, 1));
+		model.put(profile(a2, 1));
+		model.put(profile(b1, 20));
+		model.put(profile(1001, 0));
+		model.put(profile(b2, 20));
+		model.put(profile(1002, 0));
+		model.put(profile(a3, 1));
+		model.put(profile(1003, 19));
+		assertThat(model.offHeapBytes()).isEqualTo(400);
+		model.remove(1001);
+		model.remove(1002);
+		model.remove(1003);
+
+		model.put(profile(2000, 0));
+
+		for (long id : ids) assertThat(model.get(id)).isEmpty();
+		assertThat(model.get(2000)).isPresent();
+		assertThat(model.size()).isEqualTo(1);
+		assertThat(model.liveBytes()).isEqualTo(40);
+	}
+
+	@Test
+	void neverServesAStaleOrForeignProfileUnderChurn() {
+		EmployeeReadModel model = new EmployeeReadModel(256, 768);
+		Map<Long, String> expected = new HashMap<>();
+		Random random = new Random(7);
+		for (int i = 0; i < 20_000; i++) {
+			long id = 1 + random.nextInt(12);
+			if (random.nextInt(4) == 0) {
+				model.remove(id);
+				expected.remove(id);
+			} else {
+				EmployeeDTO dto = profile(id, random.nextInt(100));
+				model.put(dto);
+				expected.put(id, dto.getFullName());
+			}
+			// Puede faltar (no cupo: se sirve desde la BD) pero nunca ser otro
+			for (long k = 1; k <= 12; k++) {
+				final long key = k;
+				model.get(k).ifPresent(dto -> {
+					assertThat(dto.getId()).isEqualTo(key);
+					assertThat(dto.getFullName()).isEqualTo(expected.get(key));
+				});
+			}
+			assertThat(model.offHeapBytes()).isLessThanOrEqualTo(768);
+		}
+	}
+
+	private static EmployeeDTO profile(long id, int nameLength) {
+		return EmployeeDTO.builder().id(id).fullName("n".repeat(nameLength)).build();
+	}
+
+	private static List<Long> idsInLocationOrder(int count) {
+		List<Long> candidates = new ArrayList<>();
+		for (long k = 1; k <= 100; k++) candidates.add(k);
+		candidates.sort(Comparator.comparingInt(k -> LongLongMap.slot(k, LOCATION_MASK)));
+		Set<Integer> slots = new HashSet<>();
+		List<Long> ids = new ArrayList<>();
+		for (long k : candidates) {
+			if (slots.add(LongLongMap.slot(k, LOCATION_MASK))) ids.add(k);
+			if (ids.size() == count) break;
+		}
+		return ids;
+	}
+}
@@ -0,0 +1,116 @@
+package com.example.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class LongLongMapTests {
+
+	private static final long MISSING = -1;
+
+	@Test
+	void putGetRemove() {
+		LongLongMap map = new LongLongMap(4, MISSING);
+
+		assertThat(map.put(7, 70)).isEqualTo(MISSING);
+		assertThat(map.put(7, 71)).isEqualTo(70);
+		assertThat(map.get(7)).isEqualTo(71);
+		assertThat(map.size()).isEqualTo(1);
+
+		assertThat(map.remove(7)).isEqualTo(71);
+		assertThat(map.get(7)).isEqualTo(MISSING);
+		assertThat(map.remove(7)).isEqualTo(MISSING);
+		assertThat(map.size()).isZero();
+	}
+
+	@Test
+	void keyZeroIsNeverFound() {
+		LongLongMap map = new LongLongMap(4, MISSING);
+		assertThat(map.get(0)).isEqualTo(MISSING);
+		assertThat(map.remove(0)).isEqualTo(MISSING);
+
+		map.put(1, 10);
+		assertThat(map.get(0)).isEqualTo(MISSING);
+		assertThat(map.get(-5)).isEqualTo(MISSING);
+		assertThat(map.remove(0)).isEqualTo(MISSING);
+		assertThat(map.size()).isEqualTo(1);
+		assertThatThrownBy(() -> map.put(0, 1)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void backwardShiftDeleteAcrossTheEndOfTheTable() {
+		LongLongMap map = new LongLongMap(4, MISSING); // 16 huecos
+		int mask = 15;
+		// Tres claves que quieren el último hueco: ocupan 15, 0 y 1
+		List<Long> last = keysWithSlot(mask, mask, 3);
+		// Una que quiere el 0 y acaba después de ellas
+		long first = keysWithSlot(0, mask, 1).get(0);
+		for (long k : last) map.put(k, k * 10);
+		map.put(first, first * 10);
+
+		map.remove(last.get(0));
+
+		assertThat(map.get(last.get(0))).isEqualTo(MISSING);
+		assertThat(map.get(last.get(1))).isEqualTo(last.get(1) * 10);
+		assertThat(map.get(last.get(2))).isEqualTo(last.get(2) * 10);
+		assertThat(map.get(first)).isEqualTo(first * 10);
+
+		map.remove(last.get(1));
+		assertThat(map.get(last.get(2))).isEqualTo(last.get(2) * 10);
+		assertThat(map.get(first)).isEqualTo(first * 10);
+		assertThat(map.size()).isEqualTo(2);
+	}
+
+	@Test
+	void growsAndKeepsEveryEntry() {
+		LongLongMap map = new LongLongMap(4, MISSING);
+		for (long k = 1; k <= 10_000; k++) map.put(k, -k);
+		assertThat(map.size()).isEqualTo(10_000);
+		for (long k = 1; k <= 10_000; k++) assertThat(map.get(k)).isEqualTo(-k);
+
+		for (long k = 1; k <= 10_000; k += 2) map.remove(k);
+		assertThat(map.size()).isEqualTo(5_000);
+		for (long k = 1; k <= 10_000; k++) {
+			assertThat(map.get(k)).isEqualTo(k % 2 == 0 ? -k : MISSING);
+		}
+	}
+
+	@Test
+	void behavesLikeAHashMapUnderRandomChurn() {
+		LongLongMap map = new LongLongMap(16, MISSING);
+		Map<Long, Long> expected = new HashMap<>();
+		Random random = new Random(42);
+		for (int i = 0; i < 200_000; i++) {
+			long key = 1 + random.nextInt(300);
+			if (random.nextInt(3) == 0) {
+				assertThat(map.remove(key)).isEqualTo(expected.getOrDefault(key, MISSING));
+				expected.remove(key);
+			} else {
+				long value = random.nextLong() & Long.MAX_VALUE;
+				assertThat(map.put(key, value)).isEqualTo(expected.getOrDefault(key, MISSING));
+				expected.put(key, value);
+			}
+		}
+		assertThat(map.size()).isEqualTo(expected.size());
+		for (long k = 1; k <= 300; k++) {
+			assertThat(map.get(k)).isEqualTo(expected.getOrDefault(k, MISSING));
+		}
+		Map<Long, Long> visited = new HashMap<>();
+		map.forEach(visited::put);
+		assertThat(visited).isEqualTo(expected);
+	}
+
+	private static List<Long> keysWithSlot(int slot, int mask, int count) {
+		List<Long> keys = new ArrayList<>();
+		for (long k = 1; keys.size() < count; k++) {
+			if (LongLongMap.slot(k, mask) == slot) keys.add(k);
+		}
+		return keys;
+	}
+}
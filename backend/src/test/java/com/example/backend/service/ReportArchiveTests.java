@@ -0,0 +1,210 @@
+package com.example.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.example.backend.dto.CursorPage;
+import com.example.backend.dto.ReportDTO;
+import com.example.backend.repository.EmployeeRepository;
+import com.example.backend.repository.PerformanceReportRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+
+class ReportArchiveTests {
+
+	private static final Comparator<ReportDTO> ORDER = Comparator
+		.comparing((ReportDTO r) -> Instant.parse(r.getCreatedAt()))
+		.thenComparing(ReportDTO::getId);
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void mergeInterleavesByCreatedAtAndId() {
+		List<ReportDTO> archived = List.of(report(1, 1, 1, 10), report(3, 1, 1, 30));
+		List<ReportDTO> live = List.of(report(2, 1, 1, 20), report(4, 1, 1, 30));
+
+		assertThat(ids(ReportService.merge(archived, live, 10))).containsExactly(1L, 2L, 3L, 4L);
+	}
+
+	@Test
+	void mergeKeepsTheLiveRowForDuplicatedIds() {
+		ReportDTO stale = report(2, 1, 1, 20);
+		stale.setTitle("archivado");
+		ReportDTO fresh = report(2, 1, 1, 20);
+		fresh.setTitle("vivo");
+
+		List<ReportDTO> merged = ReportService.merge(
+			List.of(report(1, 1, 1, 10), stale),
+			List.of(fresh, report(3, 1, 1, 30)),
+			10
+		);
+
+		assertThat(ids(merged)).containsExactly(1L, 2L, 3L);
+		assertThat(merged.get(1).getTitle()).isEqualTo("vivo");
+	}
+
+	@Test
+	void mergeStopsAtTheLimit() {
+		List<ReportDTO> merged = ReportService.merge(
+			List.of(report(1, 1, 1, 10), report(3, 1, 1, 30)),
+			List.of(report(2, 1, 1, 20), report(4, 1, 1, 40)),
+			3
+		);
+
+		assertThat(ids(merged)).containsExactly(1L, 2L, 3L);
+	}
+
+	@Test
+	void departmentPagesCrossFromArchiveIntoLiveRows() throws Exception {
+		ReportArchive archive = new ReportArchive(new ObjectMapper(), dir.toString(), 2, 8);
+		List<ReportDTO> archived = new ArrayList<>();
+		for (int i = 1; i <= 5; i++) archived.add(report(i, 1, i % 2 + 1, i * 10));
+		archived.add(report(50, 2, 3, 15)); // otro departamento
+		archived.add(report(7, 1, 1, 70)); // también sigue viva (archivado sin confirmar)
+		archive.publish(archive.write(archived));
+
+		// Una fila viva más antigua que parte de lo archivado
+		List<ReportDTO> live = List.of(report(6, 1, 1, 35), report(7, 1, 1, 70), report(8, 1, 2, 80));
+		ReportService service = serviceOver(archive, live);
+
+		List<Long> seen = new ArrayList<>();
+		String cursor = null;
+		int pages = 0;
+		do {
+			CursorPage<ReportDTO> page = service.byDepartment(1L, cursor, 2);
+			assertThat(page.getItems()).hasSizeLessThanOrEqualTo(2);
+			seen.addAll(ids(page.getItems()));
+			cursor = page.getNextCursor();
+			pages++;
+		} while (cursor != null);
+
+		assertThat(seen).containsExactly(1L, 2L, 3L, 6L, 4L, 5L, 7L, 8L);
+		assertThat(pages).isEqualTo(4);
+	}
+
+	@Test
+	void withoutCursorOrSizeTheWholeListComesInOnePage() throws Exception {
+		ReportArchive archive = new ReportArchive(new ObjectMapper(), dir.toString(), 2, 8);
+		archive.publish(archive.write(List.of(report(1, 1, 1, 10), report(2, 1, 2, 20))));
+		List<ReportDTO> live = new ArrayList<>();
+		for (int i = 3; i <= 250; i++) live.add(report(i, 1, 1, i * 10));
+
+		CursorPage<ReportDTO> page = serviceOver(archive, live).byDepartment(1L, null, null);
+
+		assertThat(page.getItems()).hasSize(250);
+		assertThat(page.getNextCursor()).isNull();
+	}
+
+	@Test
+	void pagesDoNotOpenBlocksThatStartAfterTheLastRow() throws Exception {
+		ReportArchive archive = new ReportArchive(new ObjectMapper(), dir.toString(), 2, 8);
+		archive.publish(archive.write(List.of(report(1, 1, 1, 10), report(2, 1, 1, 20))));
+		ReportArchive.Segment later = archive.write(List.of(report(3, 1, 1, 30), report(4, 1, 1, 40)));
+		archive.publish(later);
+		// Si la primera página llegara a abrir el segundo segmento fallaría al descomprimir
+		Files.write(later.data(), new byte[] { 1, 2, 3 });
+
+		assertThat(ids(archive.pageByDepartment(1L, KeysetCursor.START, 2))).containsExactly(1L, 2L);
+		assertThat(ids(archive.pageByEmployee(1L, KeysetCursor.START, 2))).containsExactly(1L, 2L);
+		assertThatThrownBy(() -> archive.pageByDepartment(1L, KeysetCursor.START, 3))
+			.isInstanceOf(UncheckedIOException.class);
+	}
+
+	@Test
+	void aSegmentWrittenButNotPublishedIsDroppedOnRestart() throws Exception {
+		ReportArchive archive = new ReportArchive(new ObjectMapper(), dir.toString(), 2, 8);
+		ReportArchive.Segment pending = archive.write(List.of(report(1, 1, 1, 10)));
+		// Antes del commit solo hay .dat: nada que lo dé por confirmado
+		assertThat(pending.index()).doesNotExist();
+
+		ReportArchive restarted = new ReportArchive(new ObjectMapper(), dir.toString(), 2, 8);
+		restarted.load();
+
+		assertThat(restarted.pageByDepartment(1L, KeysetCursor.START, 10)).isEmpty();
+		assertThat(pending.data()).doesNotExist();
+		assertThat(pending.pendingIndex()).doesNotExist();
+	}
+
+	@Test
+	void aPublishedSegmentSurvivesARestart() throws Exception {
+		ReportArchive archive = new ReportArchive(new ObjectMapper(), dir.toString(), 2, 8);
+		archive.publish(archive.write(List.of(report(1, 1, 1, 10), report(2, 1, 1, 20))));
+
+		ReportArchive restarted = new ReportArchive(new ObjectMapper(), dir.toString(), 2, 8);
+		restarted.load();
+
+		assertThat(ids(restarted.pageByDepartment(1L, KeysetCursor.START, 10))).containsExactly(1L, 2L);
+	}
+
+	@Test
+	void blocksNeverMixDepartments() throws Exception {
+		ReportArchive archive = new ReportArchive(new ObjectMapper(), dir.toString(), 256, 8);
+		ReportArchive.Segment segment = archive.write(
+			List.of(report(1, 1, 1, 10), report(2, 2, 2, 20), report(3, 1, 1, 30))
+		);
+
+		assertThat(segment.blocks()).hasSize(2);
+		assertThat(segment.blocks()).allSatisfy(b -> assertThat(b.departments()).hasSize(1));
+	}
+
+	private static ReportService serviceOver(ReportArchive archive, List<ReportDTO> live) {
+		PerformanceReportRepository repo = mock(PerformanceReportRepository.class);
+		when(repo.findPageByDepartment(eq(1L), any(Instant.class), anyLong(), any(Limit.class)))
+			.thenAnswer(inv -> {
+				KeysetCursor after = new KeysetCursor(inv.getArgument(1), inv.<Long>getArgument(2));
+				Limit limit = inv.getArgument(3);
+				return live.stream()
+					.filter(r -> r.getDepartmentId() == 1L)
+					.filter(r -> {
+						int c = Instant.parse(r.getCreatedAt()).compareTo(after.createdAt());
+						return c > 0 || (c == 0 && r.getId() > after.id());
+					})
+					.sorted(ORDER)
+					.limit(limit.isLimited() ? limit.max() : Long.MAX_VALUE)
+					.toList();
+			});
+		return new ReportService(
+			repo,
+			mock(EmployeeRepository.class),
+			new Pagination(200, 1000),
+			mock(DepartmentPerformanceService.class),
+			mock(ApplicationEventPublisher.class),
+			mock(DepartmentCache.class),
+			archive
+		);
+	}
+
+	private static ReportDTO report(long id, long deptId, long empId, long second) {
+		return ReportDTO.builder()
+			.id(id)
+			.title("Reporte " + id)
+			.description("Descripción " + id)
+			.score(50)
+			.employeeId(empId)
+			.departmentId(deptId)
+			.createdAt(Instant.ofEpochSecond(1_600_000_000L + second).toString())
+			.employeeName("Empleado " + empId)
+			.departmentName("Departamento " + deptId)
+			.build();
+	}
+
+	private static List<Long> ids(List<ReportDTO> rows) {
+		return rows.stream().map(ReportDTO::getId).toList();
+	}
+}
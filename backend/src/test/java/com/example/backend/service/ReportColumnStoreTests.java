@@ -0,0 +1,86 @@
+package com.example.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.example.backend.dto.ReportDTO;
+import java.time.Instant;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class ReportColumnStoreTests {
+
+	private static final ReportColumnStore.Query ALL = new ReportColumnStore.Query(
+		null, null, null, null, ReportColumnStore.GroupBy.NONE
+	);
+
+	@Test
+	void scoreZeroIsALiveRow() {
+		ReportColumnStore store = store();
+		store.onReportChanged(created(1, 0));
+		store.onReportChanged(created(2, 40));
+
+		ReportColumnStore.Group all = store.aggregate(ALL).get(0);
+		assertThat(all.count()).isEqualTo(2);
+		assertThat(all.minScore()).isZero();
+		assertThat(all.maxScore()).isEqualTo(40);
+	}
+
+	@Test
+	void compactionKeepsScoreZeroRowsAddressable() {
+		ReportColumnStore store = store();
+		store.onReportChanged(created(1, 0));
+		for (long id = 2; id <= 3000; id++) store.onReportChanged(created(id, 10));
+		// Suficientes borrados para compactar
+		for (long id = 2; id <= 2000; id++) store.remove(id);
+
+		store.onReportChanged(changed(1, 50));
+		store.remove(2500);
+
+		ReportColumnStore.Group all = store.aggregate(ALL).get(0);
+		assertThat(store.size()).isEqualTo(1000);
+		assertThat(all.count()).isEqualTo(1000);
+		assertThat(all.maxScore()).isEqualTo(50);
+		assertThat(all.minScore()).isEqualTo(10);
+		assertThat(all.avgScore()).isEqualTo(Math.round((50 + 999 * 10) / 1000.0 * 100) / 100.0);
+	}
+
+	@Test
+	void writesAfterAScanAreSeenByTheNextOne() {
+		ReportColumnStore store = store();
+		store.onReportChanged(created(1, 20));
+		assertThat(store.aggregate(ALL).get(0).count()).isEqualTo(1);
+
+		store.onReportChanged(created(2, 30));
+		List<ReportColumnStore.Group> groups = store.aggregate(ALL);
+		assertThat(groups.get(0).count()).isEqualTo(2);
+		assertThat(groups.get(0).maxScore()).isEqualTo(30);
+	}
+
+	private static ReportColumnStore store() {
+		JdbcTemplate jdbc = mock(JdbcTemplate.class);
+		when(jdbc.getDataSource()).thenReturn(mock(DataSource.class));
+		return new ReportColumnStore(jdbc, false, 100);
+	}
+
+	private static ReportChangedEvent created(long id, int score) {
+		return new ReportChangedEvent(ReportChangedEvent.Type.CREATED, report(id, score), null);
+	}
+
+	private static ReportChangedEvent changed(long id, int score) {
+		return new ReportChangedEvent(ReportChangedEvent.Type.UPDATED, report(id, score), null);
+	}
+
+	private static ReportDTO report(long id, int score) {
+		return ReportDTO.builder()
+			.id(id)
+			.score(score)
+			.employeeId(1 + id % 7)
+			.departmentId(1 + id % 3)
+			.createdAt(Instant.parse("2025-03-01T10:00:00Z").plusSeconds(id).toString())
+			.build();
+	}
+}
@@ -0,0 +1,102 @@
+package com.example.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ReportJournalTests {
+
+	private final ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void recoversPendingEntriesBeforeATornTrailingLine() throws Exception {
+		Path path = dir.resolve("reports.journal");
+		String torn = line(pending("t3"));
+		Files.writeString(
+			path,
+			line(pending("t1")) + "\n" +
+			line(pending("t2")) + "\n" +
+			"D t1\n" +
+			torn.substring(0, torn.length() / 2),
+			StandardCharsets.UTF_8
+		);
+
+		try (ReportJournal journal = new ReportJournal(path, mapper, false)) {
+			List<ReportWriteBehind.Pending> left = journal.recover();
+
+			assertThat(left).extracting(ReportWriteBehind.Pending::trackingId).containsExactly("t2");
+		}
+		assertThat(Files.readAllLines(path)).containsExactly(line(pending("t2")));
+	}
+
+	@Test
+	void aJournalWithOnlyATornLineStartsEmpty() throws Exception {
+		Path path = dir.resolve("reports.journal");
+		// Corta también un carácter multibyte de la descripción
+		byte[] bytes = line(pending("t1")).getBytes(StandardCharsets.UTF_8);
+		int cut = line(pending("t1")).indexOf("Descripción") + "Descripci".length() + 1;
+		Files.write(path, Arrays.copyOf(bytes, cut));
+
+		try (ReportJournal journal = new ReportJournal(path, mapper, false)) {
+			assertThat(journal.recover()).isEmpty();
+		}
+		assertThat(Files.readAllLines(path)).isEmpty();
+	}
+
+	@Test
+	void doneForAnEntryThatWasNeverWrittenKeepsThePendingOnes() throws Exception {
+		Path path = dir.resolve("reports.journal");
+		try (ReportJournal journal = new ReportJournal(path, mapper, false)) {
+			journal.recover();
+			journal.appended(pending("t1"));
+			// t2 no llegó al journal (appended falló) pero sí se procesó
+			journal.done(List.of("t2"));
+		}
+
+		try (ReportJournal journal = new ReportJournal(path, mapper, false)) {
+			assertThat(journal.recover())
+				.extracting(ReportWriteBehind.Pending::trackingId)
+				.containsExactly("t1");
+		}
+	}
+
+	@Test
+	void theJournalIsEmptiedOnceEverythingIsDone() throws Exception {
+		Path path = dir.resolve("reports.journal");
+		try (ReportJournal journal = new ReportJournal(path, mapper, false)) {
+			journal.recover();
+			journal.appended(pending("t1"));
+			journal.appended(pending("t2"));
+			journal.done(List.of("t1", "t2"));
+		}
+
+		assertThat(Files.size(path)).isZero();
+	}
+
+	private String line(ReportWriteBehind.Pending p) throws Exception {
+		return "P " + mapper.writeValueAsString(p);
+	}
+
+	private static ReportWriteBehind.Pending pending(String trackingId) {
+		return new ReportWriteBehind.Pending(
+			trackingId,
+			1L,
+			"ana@example.com",
+			"Reporte " + trackingId,
+			"Descripción " + trackingId,
+			80,
+			Instant.parse("2025-01-01T00:00:00Z")
+		);
+	}
+}
@@ -0,0 +1,47 @@
+package com.example.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ReportSearchIndexTests {
+
+	@Test
+	void changesDuringARebuildReachTheNewIndex() {
+		ReportSearchIndex index = new ReportSearchIndex();
+		index.index(1, "Ventas trimestre", "", 1L, 1L);
+		index.index(2, "Ventas anuales", "", 1L, 1L);
+
+		index.rebuild(fresh -> {
+			// Mientras carga se sigue buscando sobre el índice actual
+			assertThat(reportIds(index.search("ventas", null, null, 0, 10))).containsExactly(1L, 2L);
+			fresh.index(1, "Ventas trimestre", "", 1L, 1L);
+			fresh.index(2, "Ventas anuales", "", 1L, 1L);
+			// Commits concurrentes con la carga
+			index.remove(1);
+			index.index(3, "Ventas nuevas", "", 1L, 1L);
+		});
+
+		assertThat(reportIds(index.search("ventas", null, null, 0, 10))).containsExactlyInAnyOrder(2L, 3L);
+		assertThat(index.size()).isEqualTo(2);
+	}
+
+	@Test
+	void aFailedRebuildKeepsTheCurrentIndex() {
+		ReportSearchIndex index = new ReportSearchIndex();
+		index.index(1, "Ventas", "", 1L, 1L);
+
+		assertThatThrownBy(() -> index.rebuild(fresh -> {
+			throw new IllegalStateException("sin conexión");
+		})).isInstanceOf(IllegalStateException.class);
+		index.index(2, "Ventas", "", 1L, 1L);
+
+		assertThat(index.size()).isEqualTo(2);
+	}
+
+	private static List<Long> reportIds(ReportSearchIndex.Result result) {
+		return result.hits().stream().map(ReportSearchIndex.Hit::reportId).toList();
+	}
+}
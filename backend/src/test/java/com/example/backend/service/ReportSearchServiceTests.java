@@ -0,0 +1,47 @@
+package com.example.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.example.backend.dto.ReportSearchResult;
+import com.example.backend.repository.EmployeeRepository;
+import com.example.backend.repository.PerformanceReportRepository;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+class ReportSearchServiceTests {
+
+	@AfterEach
+	void clearAuthentication() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void aHugePageNumberReturnsAnEmptyPageInsteadOfOverflowing() {
+		SecurityContextHolder.getContext().setAuthentication(
+			new UsernamePasswordAuthenticationToken(
+				"admin@kconnect.io",
+				null,
+				List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))
+			)
+		);
+		ReportSearchIndex index = new ReportSearchIndex();
+		index.index(1, "Ventas", "", 1L, 1L);
+		ReportSearchService service = new ReportSearchService(
+			index,
+			mock(PerformanceReportRepository.class),
+			mock(EmployeeRepository.class),
+			new Pagination(200, 1000),
+			false
+		);
+
+		ReportSearchResult result = service.search("ventas", null, Integer.MAX_VALUE, 1000);
+
+		assertThat(result.getTotal()).isEqualTo(1);
+		assertThat(result.getHits()).isEmpty();
+	}
+}